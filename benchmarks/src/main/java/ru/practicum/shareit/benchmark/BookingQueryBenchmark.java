@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BookingQueryBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final PageRequest PAGE = PageRequest.of(0, PAGE_SIZE);
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public ru.practicum.shareit.booking.dto.State state;
+
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp(ShareItDataset dataset) {
+        bookingService = dataset.getBean(BookingService.class);
+    }
+
+    @Benchmark
+    public Collection<BookingDtoOut> byBooker(ShareItDataset dataset) {
+        return bookingService.getBookingsByUser(dataset.randomUserId(), state, PAGE);
+    }
+
+    @Benchmark
+    public Slice<BookingDtoOut> byBookerKeyset(ShareItDataset dataset) {
+        return bookingService.getBookingsByUser(dataset.randomUserId(), state, BookingCursor.FIRST, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Collection<BookingDtoOut> byOwner(ShareItDataset dataset) {
+        return bookingService.getBookingsByOwner(dataset.randomUserId(), state, PAGE);
+    }
+
+    @Benchmark
+    public Slice<BookingDtoOut> byOwnerKeyset(ShareItDataset dataset) {
+        return bookingService.getBookingsByOwner(dataset.randomUserId(), state, BookingCursor.FIRST, PAGE_SIZE);
+    }
+}
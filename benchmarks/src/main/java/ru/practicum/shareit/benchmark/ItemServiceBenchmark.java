@@ -0,0 +1,49 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemByIdDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemServiceBenchmark {
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    private ItemService itemService;
+
+    @Setup
+    public void setUp(ShareItDataset dataset) {
+        itemService = dataset.getBean(ItemService.class);
+    }
+
+    @Benchmark
+    public Collection<Item> searchItems() {
+        String[] names = ShareItDataset.ITEM_NAMES;
+        String text = names[ThreadLocalRandom.current().nextInt(names.length)].substring(1, 5);
+        return itemService.searchItems(text, PAGE);
+    }
+
+    @Benchmark
+    public Collection<ItemByIdDto> getAllItemsByUser(ShareItDataset dataset) {
+        return itemService.getAllItemsByUser(dataset.randomUserId(), PAGE);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoItem;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.requests.dto.ItemRequestByIdDto;
+import ru.practicum.shareit.requests.dto.ItemRequestDto;
+import ru.practicum.shareit.requests.mapper.ItemRequestMapper;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    private static final int COLLECTION_SIZE = 100;
+
+    private Booking booking;
+    private List<Booking> bookings;
+    private Item item;
+    private List<Item> items;
+    private ItemRequest itemRequest;
+    private Collection<ItemDto> itemDtos;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "owner", "owner@mail.ru");
+        User booker = new User(2L, "booker", "booker@mail.ru");
+        itemRequest = new ItemRequest(1L, "Нужна дрель", booker, now);
+        items = LongStream.rangeClosed(1, COLLECTION_SIZE)
+                .mapToObj(id -> new Item(id, "Дрель " + id, "Описание вещи " + id, true, owner, itemRequest))
+                .collect(Collectors.toList());
+        item = items.get(0);
+        bookings = LongStream.rangeClosed(1, COLLECTION_SIZE)
+                .mapToObj(id -> new Booking(id, now.plusDays(id), now.plusDays(id + 1), items.get((int) id - 1),
+                        booker, BookingStatus.APPROVED))
+                .collect(Collectors.toList());
+        booking = bookings.get(0);
+        itemDtos = ItemMapper.toItemDtoCollection(items);
+    }
+
+    @Benchmark
+    public BookingDto toBookingDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public BookingDtoItem toBookingDtoItem() {
+        return BookingMapper.toBookingDtoItem(booking);
+    }
+
+    @Benchmark
+    public Collection<BookingDto> toBookingDtoCollection() {
+        return BookingMapper.toBookingDtoCollection(bookings);
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public Collection<ItemDto> toItemDtoCollection() {
+        return ItemMapper.toItemDtoCollection(items);
+    }
+
+    @Benchmark
+    public ItemRequestDto toItemRequestDto() {
+        return ItemRequestMapper.toItemRequestDto(itemRequest);
+    }
+
+    @Benchmark
+    public ItemRequestByIdDto toItemRequestByIdDto() {
+        return ItemRequestMapper.toItemRequestByIdDto(itemRequest, itemDtos);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+@State(Scope.Benchmark)
+public class ShareItDataset {
+    static final String[] ITEM_NAMES = {"Дрель", "Отвертка", "Лестница", "Палатка", "Велосипед", "Самокат",
+            "Перфоратор", "Пылесос", "Проектор", "Байдарка"};
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param("10000")
+    public int users;
+
+    @Param("100000")
+    public int items;
+
+    @Param("1000000")
+    public int bookings;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = application()
+                .web(WebApplicationType.NONE)
+                .run();
+        seed(context.getBean(JdbcTemplate.class), users, items, bookings);
+    }
+
+    static SpringApplicationBuilder application() {
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .properties("logging.level.root=WARN");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(users) + 1;
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, int users, int items, int bookings) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        insert(jdbcTemplate, "INSERT INTO users (user_id, name, email) VALUES (?, ?, ?)", users,
+                id -> new Object[]{id, "user" + id, "user" + id + "@mail.ru"});
+        insert(jdbcTemplate, "INSERT INTO items (item_id, name, description, available, owner_id) "
+                        + "VALUES (?, ?, ?, ?, ?)", items,
+                id -> new Object[]{id, ITEM_NAMES[(int) (id % ITEM_NAMES.length)] + " " + id,
+                        "Описание вещи " + id, id % 10 != 0, id % users + 1});
+        BookingStatus[] statuses = BookingStatus.values();
+        insert(jdbcTemplate, "INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", bookings,
+                id -> {
+                    LocalDateTime start = now.plusHours(random.nextInt(24 * 365 * 2) - 24 * 365);
+                    LocalDateTime end = start.plusHours(random.nextInt(24 * 14) + 1);
+                    return new Object[]{id, Timestamp.valueOf(start), Timestamp.valueOf(end),
+                            random.nextInt(items) + 1, random.nextInt(users) + 1,
+                            statuses[random.nextInt(statuses.length)].name()};
+                });
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, int count, RowFactory rowFactory) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= count; id++) {
+            batch.add(rowFactory.row(id));
+            if (batch.size() == BATCH_SIZE || id == count) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private interface RowFactory {
+        Object[] row(long id);
+    }
+}
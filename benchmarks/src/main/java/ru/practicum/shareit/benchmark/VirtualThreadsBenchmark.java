@@ -0,0 +1,109 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class VirtualThreadsBenchmark {
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+    private static final int CLIENT_THREADS = 16;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"200", "2000", "20000"})
+    public int clients;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param("1000")
+    public int users;
+
+    @Param("10000")
+    public int items;
+
+    @Param("100000")
+    public int bookings;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private String bookingsUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (virtualThreads && Runtime.version().feature() < VIRTUAL_THREADS_JAVA_VERSION) {
+            throw new IllegalStateException("virtualThreads=true needs Java " + VIRTUAL_THREADS_JAVA_VERSION
+                    + " or newer, current version is " + Runtime.version());
+        }
+        context = ShareItDataset.application()
+                .web(WebApplicationType.SERVLET)
+                .properties("server.port=0",
+                        "shareit.virtual-threads.enabled=" + virtualThreads,
+                        "server.tomcat.max-connections=" + (clients + 1000),
+                        "server.tomcat.accept-count=" + clients)
+                .run();
+        ShareItDataset.seed(context.getBean(JdbcTemplate.class), users, items, bookings);
+        bookingsUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + "/bookings?state=ALL&from=0&size=20";
+        clientExecutor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int concurrentClients() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(bookingsUrl))
+                    .header("X-Sharer-User-Id", String.valueOf(ThreadLocalRandom.current().nextInt(users) + 1))
+                    .timeout(REQUEST_TIMEOUT)
+                    .build();
+            responses[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Unexpected status " + response.statusCode());
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        return clients;
+    }
+}
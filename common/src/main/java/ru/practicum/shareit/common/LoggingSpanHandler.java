@@ -0,0 +1,22 @@
+package ru.practicum.shareit.common;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j(topic = "shareit.tracing")
+@Component
+@ConditionalOnProperty(name = "shareit.tracing.log-spans", havingValue = "true", matchIfMissing = false)
+public class LoggingSpanHandler extends SpanHandler {
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.FINISHED) {
+            log.info("{}", span);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig implements DisposableBean {
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    private ExecutorService executor;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        if (Runtime.version().feature() < VIRTUAL_THREADS_JAVA_VERSION) {
+            log.warn("shareit.virtual-threads.enabled is ignored: virtual threads require Java {} or newer, "
+                    + "current version is {}. Requests are handled on platform threads",
+                    VIRTUAL_THREADS_JAVA_VERSION, Runtime.version());
+            return protocolHandler -> {
+            };
+        }
+        executor = newVirtualThreadPerTaskExecutor();
+        log.info("Request handling runs on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual thread executor is not available on Java "
+                    + Runtime.version(), e);
+        }
+    }
+}
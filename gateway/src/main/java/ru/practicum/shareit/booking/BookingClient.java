@@ -1,29 +1,45 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerCallTracer;
+import ru.practicum.shareit.client.ServerRequestFactories;
 
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ServerRequestFactories serverRequestFactories, GatewayResponseCache responseCache,
+                         MeterRegistry meterRegistry, ServerCallTracer serverCallTracer,
+                         RequestCoalescer requestCoalescer, ServerCallGuards serverCallGuards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> serverRequestFactories.forClient(BookingClient.class.getSimpleName()))
+                        .build(),
+                responseCache,
+                API_PREFIX,
+                Set.of("/items"),
+                meterRegistry,
+                serverCallTracer,
+                requestCoalescer,
+                serverCallGuards
         );
     }
 
@@ -39,7 +55,11 @@ public class BookingClient extends BaseClient {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByUser(Long userId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> getBookingsByUser(Long userId, BookingState state, Integer from, Integer size,
+                                                    String cursor) {
+        if (cursor != null) {
+            return get("?state={state}&size={size}&cursor={cursor}", userId, cursorParameters(state, size, cursor));
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -48,7 +68,12 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(Long ownerId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> getBookingsByOwner(Long ownerId, BookingState state, Integer from, Integer size,
+                                                     String cursor) {
+        if (cursor != null) {
+            return get("/owner" + "?state={state}&size={size}&cursor={cursor}", ownerId,
+                    cursorParameters(state, size, cursor));
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -56,4 +81,12 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner" + "?state={state}&from={from}&size={size}", ownerId, parameters);
     }
+
+    private Map<String, Object> cursorParameters(BookingState state, Integer size, String cursor) {
+        return Map.of(
+                "state", state.name(),
+                "size", size,
+                "cursor", cursor
+        );
+    }
 }
@@ -56,24 +56,26 @@ public class BookingController {
 	public ResponseEntity<Object> getBookingsByUser(@RequestHeader(USER_ID_HEADER) Long userId,
 											  @RequestParam(name = "state", defaultValue = "all") String stateParam,
 							  @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-							  	    @Positive @RequestParam(defaultValue = "20") Integer size) {
+							  	    @Positive @RequestParam(defaultValue = "20") Integer size,
+							  @RequestParam(required = false) String cursor) {
 		validatePage(from, size);
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
 		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getBookingsByUser(userId, state, from, size);
+		return bookingClient.getBookingsByUser(userId, state, from, size, cursor);
 	}
 
 	@GetMapping("/owner")
 	public ResponseEntity<Object> getBookingsByOwner(@RequestHeader(USER_ID_HEADER) Long ownerId,
 											@RequestParam(name = "state", defaultValue = "all") String stateParam,
 							@PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-				     			  @Positive @RequestParam(defaultValue = "20") Integer size) {
+				     			  @Positive @RequestParam(defaultValue = "20") Integer size,
+							@RequestParam(required = false) String cursor) {
 		validatePage(from, size);
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
 		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, ownerId, from, size);
-		return bookingClient.getBookingsByOwner(ownerId, state, from, size);
+		return bookingClient.getBookingsByOwner(ownerId, state, from, size, cursor);
 	}
 
 	private void validatePage(Integer from, Integer size) {
@@ -1,18 +1,58 @@
 package ru.practicum.shareit.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.sleuth.Span;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.exeption.ServerUnavailableException;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
+    private static final String SERVER_REQUESTS_METRIC = "shareit.gateway.server.requests";
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+    private static final String IO_ERROR_STATUS = "IO_ERROR";
+    private static final String REJECTED_STATUS = "REJECTED";
+    private static final Set<String> NOT_FORWARDED_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "te", "trailer", "upgrade", "proxy-authenticate", "proxy-authorization", "content-length", "date");
+
     protected final RestTemplate rest;
+    private final GatewayResponseCache responseCache;
+    private final String cacheRegion;
+    private final Set<String> invalidatedRegions;
+    private final MeterRegistry meterRegistry;
+    private final ServerCallTracer serverCallTracer;
+    private final RequestCoalescer requestCoalescer;
+    private final String clientName;
+    private final ServerCallGuard serverCallGuard;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null, Set.of(), null, null, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, GatewayResponseCache responseCache, String cacheRegion,
+                      Set<String> invalidatedRegions, MeterRegistry meterRegistry,
+                      ServerCallTracer serverCallTracer, RequestCoalescer requestCoalescer,
+                      ServerCallGuards serverCallGuards) {
         this.rest = rest;
+        this.responseCache = responseCache;
+        this.cacheRegion = cacheRegion;
+        this.invalidatedRegions = invalidatedRegions;
+        this.meterRegistry = meterRegistry;
+        this.serverCallTracer = serverCallTracer;
+        this.requestCoalescer = requestCoalescer;
+        this.clientName = ClassUtils.getUserClass(getClass()).getSimpleName();
+        this.serverCallGuard = serverCallGuards != null ? serverCallGuards.forClient(clientName) : null;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -24,7 +64,26 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        if (requestCoalescer == null) {
+            return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        }
+        return requestCoalescer.execute(clientName, requestKey(path, userId, parameters),
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null));
+    }
+
+    protected ResponseEntity<Object> cachedGet(String path) {
+        return cachedGet(path, null, null);
+    }
+
+    protected ResponseEntity<Object> cachedGet(String path, long userId) {
+        return cachedGet(path, userId, null);
+    }
+
+    protected ResponseEntity<Object> cachedGet(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        if (responseCache == null) {
+            return get(path, userId, parameters);
+        }
+        return responseCache.get(cacheRegion, expand(path, parameters), userId, () -> get(path, userId, parameters));
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -80,42 +139,112 @@ public class BaseClient {
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        String route = currentRoute();
+        Span span = serverCallTracer != null ? serverCallTracer.start(method, route) : null;
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId, span));
 
-        ResponseEntity<Object> shareitServerResponse;
+        Timer.Sample sample = meterRegistry != null ? Timer.start(meterRegistry) : null;
+        String status = IO_ERROR_STATUS;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            shareitServerResponse = serverCallGuard != null
+                    ? serverCallGuard.call(() -> exchange(method, path, requestEntity, parameters))
+                    : exchange(method, path, requestEntity, parameters);
+            status = String.valueOf(shareitServerResponse.getStatusCodeValue());
+            if (method != HttpMethod.GET && shareitServerResponse.getStatusCode().is2xxSuccessful()) {
+                invalidateCache();
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            status = String.valueOf(e.getRawStatusCode());
+            return passThrough(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        } catch (ServerUnavailableException e) {
+            status = REJECTED_STATUS;
+            throw e;
+        } finally {
+            recordLatency(sample, route, method, status);
+            endSpan(span, status);
+        }
+        return passThrough(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    private <T> ResponseEntity<byte[]> exchange(HttpMethod method, String path, HttpEntity<T> requestEntity,
+                                                @Nullable Map<String, Object> parameters) {
+        if (parameters != null) {
+            return rest.exchange(path, method, requestEntity, byte[].class, parameters);
+        }
+        return rest.exchange(path, method, requestEntity, byte[].class);
+    }
+
+    private void recordLatency(@Nullable Timer.Sample sample, String route, HttpMethod method, String status) {
+        if (sample == null) {
+            return;
+        }
+        sample.stop(Timer.builder(SERVER_REQUESTS_METRIC)
+                .tag("route", route)
+                .tag("method", method.name())
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static void endSpan(@Nullable Span span, String status) {
+        if (span == null) {
+            return;
+        }
+        span.tag("http.status_code", status);
+        span.end();
+    }
+
+    private static String currentRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return UNKNOWN_ROUTE;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? pattern.toString() : UNKNOWN_ROUTE;
+    }
+
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+    }
+
+    private String requestKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return expand(path, parameters) + "#" + userId;
+    }
+
+    private void invalidateCache() {
+        if (responseCache != null) {
+            invalidatedRegions.forEach(responseCache::invalidate);
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private HttpHeaders defaultHeaders(Long userId, @Nullable Span span) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        if (span != null) {
+            serverCallTracer.inject(span, headers);
+        }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    static ResponseEntity<Object> passThrough(HttpStatus status, @Nullable HttpHeaders serverHeaders,
+                                              @Nullable byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!NOT_FORWARDED_HEADERS.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
         }
-
-        return responseBuilder.build();
+        return new ResponseEntity<>(body, headers, status);
     }
 }
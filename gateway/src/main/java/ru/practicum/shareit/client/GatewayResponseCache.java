@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class GatewayResponseCache {
+    private final ServerClientProperties properties;
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GatewayResponseCache(ServerClientProperties properties) {
+        this.properties = properties;
+    }
+
+    public ResponseEntity<Object> get(String regionName, URI uri, Long userId,
+                                      Supplier<ResponseEntity<Object>> loader) {
+        Region region = region(regionName);
+        String key = uri + "#" + userId;
+        ResponseEntity<Object> cached = region.cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = region.generation.get();
+        ResponseEntity<Object> response = loader.get();
+        if (response.getStatusCode().is2xxSuccessful()) {
+            region.cache.put(key, response);
+            // a write that raced with the load must not leave the stale response behind
+            if (region.generation.get() != generation) {
+                region.cache.invalidate(key);
+            }
+        }
+        return response;
+    }
+
+    public void invalidate(String regionName) {
+        Region region = regions.get(regionName);
+        if (region != null) {
+            region.generation.incrementAndGet();
+            region.cache.invalidateAll();
+        }
+    }
+
+    private Region region(String regionName) {
+        return regions.computeIfAbsent(regionName, name -> new Region(Caffeine.newBuilder()
+                .maximumSize(properties.getResponseCacheMaxSize())
+                .expireAfterWrite(properties.getResponseCacheTtl())
+                .build()));
+    }
+
+    private static class Region {
+        private final Cache<String, ResponseEntity<Object>> cache;
+        private final AtomicLong generation = new AtomicLong();
+
+        private Region(Cache<String, ResponseEntity<Object>> cache) {
+            this.cache = cache;
+        }
+    }
+}
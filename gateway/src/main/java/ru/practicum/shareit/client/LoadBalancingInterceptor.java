@@ -0,0 +1,138 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD,
+            HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final String serverUrl;
+    private final ServerLoadBalancer loadBalancer;
+
+    public LoadBalancingInterceptor(String serverUrl, ServerLoadBalancer loadBalancer) {
+        this.serverUrl = serverUrl.endsWith("/") ? serverUrl.substring(0, serverUrl.length() - 1) : serverUrl;
+        this.loadBalancer = loadBalancer;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String uri = request.getURI().toString();
+        if (!uri.startsWith(serverUrl)) {
+            return execution.execute(request, body);
+        }
+        String path = uri.substring(serverUrl.length());
+        ServerEndpoint endpoint = loadBalancer.choose();
+        try {
+            return execute(endpoint, path, request, body, execution);
+        } catch (IOException e) {
+            // the request never reached the server, so an idempotent one is safe to send elsewhere once
+            ServerEndpoint other = isConnectFailure(e) && IDEMPOTENT_METHODS.contains(request.getMethod())
+                    ? loadBalancer.chooseOther(endpoint)
+                    : null;
+            if (other == null) {
+                throw e;
+            }
+            // this interceptor is the last one, so a second execute() goes straight to the request factory
+            return execute(other, path, request, body, execution);
+        }
+    }
+
+    private ClientHttpResponse execute(ServerEndpoint endpoint, String path, HttpRequest request, byte[] body,
+                                       ClientHttpRequestExecution execution) throws IOException {
+        URI target = URI.create(endpoint.getUrl() + path);
+        endpoint.acquire();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return target;
+                }
+            }, body);
+        } catch (IOException e) {
+            endpoint.release();
+            // a read timeout says nothing about the other requests on that server, only a refused connection does
+            if (isConnectFailure(e)) {
+                loadBalancer.eject(endpoint);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            endpoint.release();
+            throw e;
+        }
+        // the request stays outstanding until RestTemplate has read the body and closed the response
+        return new EndpointResponse(response, endpoint);
+    }
+
+    private static boolean isConnectFailure(IOException e) {
+        return e instanceof ConnectException
+                || e instanceof ConnectTimeoutException
+                || e instanceof NoRouteToHostException
+                || e instanceof UnknownHostException;
+    }
+
+    private static class EndpointResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final ServerEndpoint endpoint;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        EndpointResponse(ClientHttpResponse delegate, ServerEndpoint endpoint) {
+            this.delegate = delegate;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return delegate.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    endpoint.release();
+                }
+            }
+        }
+    }
+}
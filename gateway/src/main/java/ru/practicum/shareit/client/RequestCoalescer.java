@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exeption.ServerUnavailableException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Component
+public class RequestCoalescer {
+    private static final String REQUESTS_METRIC = "shareit.gateway.coalescing.requests";
+
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderRequests;
+    private final Counter coalescedRequests;
+    private final ServerClientProperties properties;
+
+    @Autowired
+    public RequestCoalescer(MeterRegistry meterRegistry, ServerClientProperties properties) {
+        this.properties = properties;
+        leaderRequests = Counter.builder(REQUESTS_METRIC)
+                .tag("result", "leader")
+                .register(meterRegistry);
+        coalescedRequests = Counter.builder(REQUESTS_METRIC)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("shareit.gateway.coalescing.in.flight", List.of(), inFlight);
+    }
+
+    public ResponseEntity<Object> execute(String client, String key, Supplier<ResponseEntity<Object>> loader) {
+        CompletableFuture<ResponseEntity<Object>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedRequests.increment();
+            // a follower never waits longer than the leader's own call to the server may take
+            return join(existing, properties.getConnectTimeout(client).plus(properties.getReadTimeout(client)));
+        }
+        leaderRequests.increment();
+        try {
+            ResponseEntity<Object> response = loader.get();
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static ResponseEntity<Object> join(CompletableFuture<ResponseEntity<Object>> call, Duration timeout) {
+        try {
+            return call.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServerUnavailableException("Coalesced request timed out after " + timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerUnavailableException("Interrupted while waiting for a coalesced request");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exeption.ServerUnavailableException;
+
+import java.util.function.Supplier;
+
+public class ServerCallGuard {
+    private final String name;
+    private final Bulkhead bulkhead;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+
+    public ServerCallGuard(String name, Bulkhead bulkhead, AdaptiveConcurrencyLimiter limiter,
+                           CircuitBreaker circuitBreaker) {
+        this.name = name;
+        this.bulkhead = bulkhead;
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public <T> T call(Supplier<T> call) {
+        if (!bulkhead.tryAcquirePermission()) {
+            throw new ServerUnavailableException(name + ": too many concurrent calls to the server");
+        }
+        try {
+            return callWithinLimit(call);
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    private <T> T callWithinLimit(Supplier<T> call) {
+        if (!limiter.tryAcquire()) {
+            throw new ServerUnavailableException(name + ": server concurrency limit reached");
+        }
+        long start = System.nanoTime();
+        try {
+            T result = circuitBreaker.executeSupplier(call);
+            limiter.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (CallNotPermittedException e) {
+            limiter.onIgnore();
+            throw new ServerUnavailableException(name + ": circuit breaker is open");
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            limiter.onDropped();
+            throw e;
+        } catch (RuntimeException e) {
+            limiter.onSuccess(System.nanoTime() - start);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ServerCallGuards {
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ServerClientProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ServerCallGuards(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                            ServerClientProperties properties, MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ServerCallGuard forClient(String name) {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(name);
+        // a bulkhead below the limiter ceiling would cap concurrency before the limiter could ever reach it
+        int maxConcurrentCalls = bulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        if (maxConcurrentCalls < properties.getLimiterMaxLimit()) {
+            throw new IllegalStateException(name + ": bulkhead max-concurrent-calls " + maxConcurrentCalls
+                    + " is below limiter-max-limit " + properties.getLimiterMaxLimit());
+        }
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                properties.getLimiterInitialLimit(),
+                properties.getLimiterMinLimit(),
+                properties.getLimiterMaxLimit(),
+                properties.getLimiterBackoffRatio(),
+                properties.getLimiterLatencyThreshold().toNanos());
+        Gauge.builder("shareit.gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("client", name)
+                .register(meterRegistry);
+        return new ServerCallGuard(name, bulkhead, limiter,
+                circuitBreakerRegistry.circuitBreaker(name));
+    }
+}
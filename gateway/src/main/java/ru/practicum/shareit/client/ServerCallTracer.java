@@ -0,0 +1,41 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.propagation.Propagator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ServerCallTracer {
+    private static final String REMOTE_SERVICE_NAME = "shareit-server";
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    @Autowired
+    public ServerCallTracer(Tracer tracer, Propagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    public Span start(HttpMethod method, String route) {
+        Span.Builder builder = tracer.spanBuilder()
+                .name(method.name() + " " + route)
+                .kind(Span.Kind.CLIENT)
+                .remoteServiceName(REMOTE_SERVICE_NAME)
+                .tag("http.method", method.name())
+                .tag("http.route", route);
+        Span parent = tracer.currentSpan();
+        if (parent != null) {
+            builder.setParent(parent.context());
+        }
+        return builder.start();
+    }
+
+    public void inject(Span span, HttpHeaders headers) {
+        propagator.inject(span.context(), headers, HttpHeaders::set);
+    }
+}
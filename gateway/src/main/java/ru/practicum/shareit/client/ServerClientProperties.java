@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit-server.client")
+public class ServerClientProperties {
+    private List<String> urls = List.of();
+    private int maxConnections = 200;
+    private int pendingAcquireMaxCount = 1000;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private long responseCacheMaxSize = 10_000;
+    private Duration responseCacheTtl = Duration.ofSeconds(30);
+    private int limiterInitialLimit = 20;
+    private int limiterMinLimit = 5;
+    private int limiterMaxLimit = 200;
+    private double limiterBackoffRatio = 0.9;
+    private Duration limiterLatencyThreshold = Duration.ofSeconds(2);
+    private String healthCheckPath = "/actuator/health";
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+    private int healthyThreshold = 2;
+    private int unhealthyThreshold = 2;
+    // per-client overrides keyed by client class name, e.g. instances.ItemClient.read-timeout
+    private Map<String, Timeouts> instances = new HashMap<>();
+
+    public Duration getConnectTimeout(String client) {
+        Timeouts timeouts = instances.get(client);
+        return timeouts != null && timeouts.getConnectTimeout() != null ? timeouts.getConnectTimeout() : connectTimeout;
+    }
+
+    public Duration getReadTimeout(String client) {
+        Timeouts timeouts = instances.get(client);
+        return timeouts != null && timeouts.getReadTimeout() != null ? timeouts.getReadTimeout() : readTimeout;
+    }
+
+    @Data
+    public static class Timeouts {
+        private Duration connectTimeout;
+        private Duration readTimeout;
+    }
+}
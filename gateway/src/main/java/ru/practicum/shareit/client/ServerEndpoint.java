@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ServerEndpoint {
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private int consecutiveSuccesses;
+    private int consecutiveFailures;
+
+    public ServerEndpoint(String url) {
+        this.url = url;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    synchronized void eject() {
+        healthy = false;
+        consecutiveSuccesses = 0;
+    }
+
+    synchronized void recordCheck(boolean success, int healthyThreshold, int unhealthyThreshold) {
+        if (success) {
+            consecutiveFailures = 0;
+            if (++consecutiveSuccesses >= healthyThreshold) {
+                healthy = true;
+            }
+        } else {
+            consecutiveSuccesses = 0;
+            if (++consecutiveFailures >= unhealthyThreshold) {
+                healthy = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ServerLoadBalancer implements InitializingBean, DisposableBean {
+    private final ServerClientProperties properties;
+    private final List<ServerEndpoint> endpoints;
+    private final RestTemplate healthCheckRest;
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shareit-server-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public ServerLoadBalancer(ServerClientProperties properties, CloseableHttpClient serverHttpClient,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.endpoints = properties.getUrls().stream()
+                .map(url -> new ServerEndpoint(trimTrailingSlash(url)))
+                .collect(Collectors.toList());
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("shareit-server.client.urls must list at least one server");
+        }
+        HttpComponentsClientHttpRequestFactory requestFactory =
+                new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+        requestFactory.setConnectTimeout((int) properties.getHealthCheckTimeout().toMillis());
+        requestFactory.setReadTimeout((int) properties.getHealthCheckTimeout().toMillis());
+        this.healthCheckRest = new RestTemplate(requestFactory);
+        for (ServerEndpoint endpoint : endpoints) {
+            Gauge.builder("shareit.gateway.server.endpoint.healthy", endpoint, e -> e.isHealthy() ? 1 : 0)
+                    .tag("endpoint", endpoint.getUrl())
+                    .register(meterRegistry);
+            Gauge.builder("shareit.gateway.server.endpoint.outstanding", endpoint, ServerEndpoint::getOutstanding)
+                    .tag("endpoint", endpoint.getUrl())
+                    .register(meterRegistry);
+        }
+    }
+
+    public ServerEndpoint choose() {
+        List<ServerEndpoint> candidates = endpoints.stream()
+                .filter(ServerEndpoint::isHealthy)
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            // every server looks down: keep trying all of them rather than failing every request
+            candidates = endpoints;
+        }
+        return leastOutstandingOfTwo(candidates);
+    }
+
+    @Nullable
+    public ServerEndpoint chooseOther(ServerEndpoint failed) {
+        List<ServerEndpoint> candidates = endpoints.stream()
+                .filter(endpoint -> endpoint != failed && endpoint.isHealthy())
+                .collect(Collectors.toList());
+        return candidates.isEmpty() ? null : leastOutstandingOfTwo(candidates);
+    }
+
+    public void eject(ServerEndpoint endpoint) {
+        if (endpoints.size() > 1 && endpoint.isHealthy()) {
+            log.warn("Ejecting server {} after a failed connection", endpoint.getUrl());
+            endpoint.eject();
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (endpoints.size() > 1) {
+            long interval = properties.getHealthCheckInterval().toMillis();
+            healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        healthChecker.shutdownNow();
+    }
+
+    private void checkHealth() {
+        for (ServerEndpoint endpoint : endpoints) {
+            boolean wasHealthy = endpoint.isHealthy();
+            endpoint.recordCheck(isUp(endpoint), properties.getHealthyThreshold(), properties.getUnhealthyThreshold());
+            if (wasHealthy != endpoint.isHealthy()) {
+                log.info("Server {} is {}", endpoint.getUrl(), endpoint.isHealthy() ? "back in rotation" : "ejected");
+            }
+        }
+    }
+
+    private boolean isUp(ServerEndpoint endpoint) {
+        try {
+            return healthCheckRest.getForEntity(endpoint.getUrl() + properties.getHealthCheckPath(), String.class)
+                    .getStatusCode().is2xxSuccessful();
+        } catch (RestClientException e) {
+            return false;
+        }
+    }
+
+    private static ServerEndpoint leastOutstandingOfTwo(List<ServerEndpoint> candidates) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerEndpoint a = candidates.get(first);
+        ServerEndpoint b = candidates.get(second);
+        return a.getOutstanding() <= b.getOutstanding() ? a : b;
+    }
+
+    private static String trimTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ServerRequestFactories {
+    private final CloseableHttpClient serverHttpClient;
+    private final ServerClientProperties properties;
+
+    @Autowired
+    public ServerRequestFactories(CloseableHttpClient serverHttpClient, ServerClientProperties properties) {
+        this.serverHttpClient = serverHttpClient;
+        this.properties = properties;
+    }
+
+    public ClientHttpRequestFactory forClient(String name) {
+        // shares the connection pool, overrides only the timeouts of the pooled client's default request config
+        HttpComponentsClientHttpRequestFactory requestFactory =
+                new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+        requestFactory.setConnectTimeout((int) properties.getConnectTimeout(name).toMillis());
+        requestFactory.setReadTimeout((int) properties.getReadTimeout(name).toMillis());
+        return requestFactory;
+    }
+}
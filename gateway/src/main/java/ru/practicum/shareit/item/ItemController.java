@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +14,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 @SuppressWarnings("ALL")
 @Slf4j
@@ -59,6 +61,15 @@ public class ItemController {
         return itemClient.getItemById(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getItemAvailability(@RequestHeader(USER_ID_HEADER) Long userId,
+                              @PathVariable Long itemId,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Request to endpoint GET/items/{}/availability от userId={} from={} to={}", itemId, userId, from, to);
+        return itemClient.getItemAvailability(userId, itemId, from, to);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getAllItems(@RequestHeader(USER_ID_HEADER) Long userId,
                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.exeption.TooManyRequestsException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache<String, TokenBucket>> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return true;
+        }
+        String route = pattern.toString();
+        RateLimitProperties.Budget budget = properties.getRoutes().get(route);
+        if (budget == null) {
+            return true;
+        }
+        long now = System.nanoTime();
+        long waitNanos = buckets.computeIfAbsent(route, this::newRouteBuckets)
+                .get(clientKey(request), key -> new TokenBucket(budget.getCapacity(), budget.getPermitsPerSecond(), now))
+                .tryConsume(now);
+        if (waitNanos > 0) {
+            meterRegistry.counter("shareit.gateway.rate.limited", "route", route).increment();
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+                    / TimeUnit.SECONDS.toNanos(1));
+            throw new TooManyRequestsException("Rate limit exceeded for " + route, retryAfterSeconds);
+        }
+        return true;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (userId != null) {
+            try {
+                // "1" and "01" are the same user to the server, so they share one budget
+                return "user:" + Long.parseLong(userId.trim());
+            } catch (NumberFormatException e) {
+                // a malformed id must not buy a fresh budget, fall through to the caller's address
+            }
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private Cache<String, TokenBucket> newRouteBuckets(String route) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+}
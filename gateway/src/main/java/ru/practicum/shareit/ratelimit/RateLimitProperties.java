@@ -0,0 +1,32 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maxUsers = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    @Valid
+    private Map<String, Budget> routes = new HashMap<>();
+
+    @Data
+    public static class Budget {
+        @Positive
+        private long capacity;
+        @Positive
+        private double permitsPerSecond;
+    }
+}
@@ -1,28 +1,44 @@
 package ru.practicum.shareit.requests;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerCallTracer;
+import ru.practicum.shareit.client.ServerRequestFactories;
 import ru.practicum.shareit.requests.dto.ItemRequestDtoIn;
 
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ServerRequestFactories serverRequestFactories, GatewayResponseCache responseCache,
+                             MeterRegistry meterRegistry, ServerCallTracer serverCallTracer,
+                             RequestCoalescer requestCoalescer, ServerCallGuards serverCallGuards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> serverRequestFactories.forClient(ItemRequestClient.class.getSimpleName()))
+                        .build(),
+                responseCache,
+                API_PREFIX,
+                Set.of("/requests"),
+                meterRegistry,
+                serverCallTracer,
+                requestCoalescer,
+                serverCallGuards
         );
     }
 
@@ -31,11 +47,11 @@ public class ItemRequestClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getAllItemRequestsByRequester(Long userId) {
-        return get("/", userId);
+        return cachedGet("/", userId);
     }
 
     public ResponseEntity<Object> getItemRequestById(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+        return cachedGet("/" + requestId, userId);
     }
 
     public ResponseEntity<Object> getAllItemRequestsByPage(Long userId, Integer from, Integer size) {
@@ -43,6 +59,6 @@ public class ItemRequestClient extends BaseClient {
                 "from", from,
                 "size", size
         );
-        return get("/all" + "?from={from}&size={size}", userId, parameters);
+        return cachedGet("/all" + "?from={from}&size={size}", userId, parameters);
     }
 }
@@ -1,26 +1,43 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerCallTracer;
+import ru.practicum.shareit.client.ServerRequestFactories;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Set;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ServerRequestFactories serverRequestFactories, GatewayResponseCache responseCache,
+                      MeterRegistry meterRegistry, ServerCallTracer serverCallTracer,
+                      RequestCoalescer requestCoalescer, ServerCallGuards serverCallGuards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> serverRequestFactories.forClient(UserClient.class.getSimpleName()))
+                        .build(),
+                responseCache,
+                API_PREFIX,
+                Set.of("/users", "/items", "/requests"),
+                meterRegistry,
+                serverCallTracer,
+                requestCoalescer,
+                serverCallGuards
         );
     }
 
@@ -29,7 +46,7 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getUserById(Long userId) {
-        return get("/" + userId);
+        return cachedGet("/" + userId);
     }
 
     public ResponseEntity<Object> getAllUsers() {
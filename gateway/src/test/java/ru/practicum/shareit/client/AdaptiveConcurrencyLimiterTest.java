@@ -0,0 +1,117 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long LATENCY_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void beforeEach() {
+        limiter = new AdaptiveConcurrencyLimiter(10, 2, 12, 0.5, LATENCY_THRESHOLD);
+    }
+
+    @Test
+    void testTryAcquireStopsAtLimit() {
+        acquire(10);
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    void testFastCallsGrowLimitWhileInUse() {
+        acquire(5);
+        limiter.onSuccess(FAST);
+
+        assertEquals(11, limiter.getLimit());
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    void testFastCallsDoNotGrowUnusedLimit() {
+        acquire(1);
+        limiter.onSuccess(FAST);
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testLimitIsClampedToMax() {
+        acquire(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.onSuccess(FAST);
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertEquals(12, limiter.getLimit());
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    void testSlowCallBacksOff() {
+        acquire(5);
+        limiter.onSuccess(SLOW);
+
+        assertEquals(5, limiter.getLimit());
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    void testDroppedCallBacksOff() {
+        acquire(1);
+        limiter.onDropped();
+
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testLimitIsClampedToMin() {
+        acquire(4);
+        for (int i = 0; i < 4; i++) {
+            limiter.onDropped();
+        }
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testIgnoredCallKeepsLimit() {
+        acquire(5);
+        limiter.onIgnore();
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    void testEveryExitReleasesInFlight() {
+        acquire(4);
+        limiter.onSuccess(FAST);
+        limiter.onSuccess(SLOW);
+        limiter.onDropped();
+        limiter.onIgnore();
+
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    private void acquire(int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+    }
+}
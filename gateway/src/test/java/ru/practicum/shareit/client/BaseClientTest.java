@@ -0,0 +1,174 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+    private static final String SERVER_URL = "http://localhost:9090";
+
+    private MockRestServiceServer itemServer;
+    private MockRestServiceServer userServer;
+    private TestClient itemClient;
+    private TestClient userClient;
+
+    @BeforeEach
+    void beforeEach() {
+        GatewayResponseCache responseCache = new GatewayResponseCache(new ServerClientProperties());
+        RestTemplate itemRest = restTemplate("/items");
+        RestTemplate userRest = restTemplate("/users");
+        itemServer = MockRestServiceServer.bindTo(itemRest).build();
+        userServer = MockRestServiceServer.bindTo(userRest).build();
+        itemClient = new TestClient(itemRest, responseCache, "/items", Set.of("/items", "/requests"));
+        userClient = new TestClient(userRest, responseCache, "/users", Set.of("/users", "/items", "/requests"));
+    }
+
+    @Test
+    void testCachedGetCallsServerOnce() {
+        itemServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        itemClient.cachedById(1L, 1L);
+        ResponseEntity<Object> response = itemClient.cachedById(1L, 1L);
+
+        itemServer.verify();
+        assertEquals("{\"id\":1}", body(response));
+    }
+
+    @Test
+    void testCachedGetKeepsUsersApart() {
+        itemServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"id\":1,\"lastBooking\":{\"id\":7}}", MediaType.APPLICATION_JSON));
+        itemServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> owner = itemClient.cachedById(1L, 1L);
+        ResponseEntity<Object> booker = itemClient.cachedById(2L, 1L);
+
+        itemServer.verify();
+        assertEquals("{\"id\":1,\"lastBooking\":{\"id\":7}}", body(owner));
+        assertEquals("{\"id\":1}", body(booker));
+        assertEquals(body(owner), body(itemClient.cachedById(1L, 1L)));
+        assertEquals(body(booker), body(itemClient.cachedById(2L, 1L)));
+    }
+
+    @Test
+    void testWriteInvalidatesOwnRegion() {
+        itemServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items/1"))
+                .andRespond(withSuccess("{\"name\":\"old\"}", MediaType.APPLICATION_JSON));
+        itemServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"name\":\"new\"}", MediaType.APPLICATION_JSON));
+        itemServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"name\":\"new\"}", MediaType.APPLICATION_JSON));
+
+        itemClient.cachedById(1L, 1L);
+        itemClient.update(1L, 1L);
+        ResponseEntity<Object> response = itemClient.cachedById(1L, 1L);
+
+        itemServer.verify();
+        assertEquals("{\"name\":\"new\"}", body(response));
+    }
+
+    @Test
+    void testFailedWriteKeepsCache() {
+        itemServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"name\":\"old\"}", MediaType.APPLICATION_JSON));
+        itemServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN));
+        itemServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withException(new SocketTimeoutException("Read timed out")));
+
+        itemClient.cachedById(1L, 1L);
+        assertEquals(HttpStatus.FORBIDDEN, itemClient.update(1L, 1L).getStatusCode());
+        assertThrows(ResourceAccessException.class, () -> itemClient.update(1L, 1L));
+        ResponseEntity<Object> response = itemClient.cachedById(1L, 1L);
+
+        itemServer.verify();
+        assertEquals("{\"name\":\"old\"}", body(response));
+    }
+
+    @Test
+    void testWriteInvalidatesOtherRegions() {
+        itemServer.expect(ExpectedCount.twice(), requestTo(SERVER_URL + "/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        userServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/users/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        itemClient.cachedById(1L, 1L);
+        userClient.update(1L, 1L);
+        itemClient.cachedById(1L, 1L);
+
+        itemServer.verify();
+        userServer.verify();
+    }
+
+    @Test
+    void testWriteLeavesUnrelatedRegionsCached() {
+        userServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/users/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        itemServer.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        userClient.cachedById(1L, 1L);
+        itemClient.update(1L, 1L);
+        userClient.cachedById(1L, 1L);
+
+        userServer.verify();
+        itemServer.verify();
+    }
+
+    private static RestTemplate restTemplate(String apiPrefix) {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL + apiPrefix));
+        return rest;
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest, GatewayResponseCache responseCache, String cacheRegion,
+                   Set<String> invalidatedRegions) {
+            super(rest, responseCache, cacheRegion, invalidatedRegions, null, null, null, null);
+        }
+
+        ResponseEntity<Object> cachedById(long userId, long id) {
+            return cachedGet("/" + id, userId);
+        }
+
+        ResponseEntity<Object> update(long userId, long id) {
+            return patch("/" + id, userId, "{}");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GatewayResponseCacheTest {
+    private static final URI ITEM_URI = URI.create("http://localhost:9090/items/1");
+
+    private GatewayResponseCache responseCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void beforeEach() {
+        responseCache = new GatewayResponseCache(new ServerClientProperties());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGetReturnsCachedResponse() {
+        ResponseEntity<Object> first = responseCache.get("/items", ITEM_URI, 1L, () -> load("item1"));
+        ResponseEntity<Object> second = responseCache.get("/items", ITEM_URI, 1L, () -> load("item1"));
+
+        assertEquals(1, loads.get());
+        assertEquals(first.getBody(), second.getBody());
+    }
+
+    @Test
+    void testGetKeysResponsesByUser() {
+        responseCache.get("/items", ITEM_URI, 1L, () -> load("owner view"));
+        ResponseEntity<Object> otherUser = responseCache.get("/items", ITEM_URI, 2L, () -> load("booker view"));
+        ResponseEntity<Object> owner = responseCache.get("/items", ITEM_URI, 1L, () -> load("booker view"));
+
+        assertEquals(2, loads.get());
+        assertEquals("booker view", otherUser.getBody());
+        assertEquals("owner view", owner.getBody());
+    }
+
+    @Test
+    void testGetSeparatesAnonymousFromUserResponses() {
+        responseCache.get("/items", ITEM_URI, null, () -> load("anonymous"));
+        ResponseEntity<Object> user = responseCache.get("/items", ITEM_URI, 1L, () -> load("user"));
+
+        assertEquals(2, loads.get());
+        assertEquals("user", user.getBody());
+    }
+
+    @Test
+    void testGetDoesNotCacheErrors() {
+        responseCache.get("/items", ITEM_URI, 1L, () -> {
+            loads.incrementAndGet();
+            return new ResponseEntity<>("not found", HttpStatus.NOT_FOUND);
+        });
+        ResponseEntity<Object> response = responseCache.get("/items", ITEM_URI, 1L, () -> load("item1"));
+
+        assertEquals(2, loads.get());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void testInvalidateClearsOnlyItsRegion() {
+        URI userUri = URI.create("http://localhost:9090/users/1");
+        responseCache.get("/items", ITEM_URI, 1L, () -> load("item1"));
+        responseCache.get("/users", userUri, null, () -> load("user1"));
+
+        responseCache.invalidate("/items");
+        responseCache.get("/items", ITEM_URI, 1L, () -> load("item1 updated"));
+        responseCache.get("/users", userUri, null, () -> load("user1 updated"));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testGetDropsResponseLoadedDuringInvalidation() {
+        ResponseEntity<Object> stale = responseCache.get("/items", ITEM_URI, 1L, () -> {
+            ResponseEntity<Object> response = load("before update");
+            responseCache.invalidate("/items");
+            return response;
+        });
+        ResponseEntity<Object> fresh = responseCache.get("/items", ITEM_URI, 1L, () -> load("after update"));
+
+        assertEquals("before update", stale.getBody());
+        assertEquals("after update", fresh.getBody());
+        assertEquals(2, loads.get());
+    }
+
+    private ResponseEntity<Object> load(String body) {
+        loads.incrementAndGet();
+        return ResponseEntity.ok(body);
+    }
+}
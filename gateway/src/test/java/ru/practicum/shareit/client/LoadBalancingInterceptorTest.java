@@ -0,0 +1,157 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+class LoadBalancingInterceptorTest {
+    private static final String SERVER_URL = "http://shareit-server:9090";
+
+    private ServerLoadBalancer loadBalancer;
+    private ServerEndpoint endpoint;
+    private LoadBalancingInterceptor interceptor;
+    private List<URI> sentUris;
+
+    @BeforeEach
+    void beforeEach() {
+        loadBalancer = Mockito.mock(ServerLoadBalancer.class);
+        endpoint = new ServerEndpoint("http://server2:9090");
+        when(loadBalancer.choose())
+                .thenReturn(endpoint);
+        interceptor = new LoadBalancingInterceptor(SERVER_URL + "/", loadBalancer);
+        sentUris = new ArrayList<>();
+    }
+
+    @Test
+    void testRewritesServerUriToChosenEndpoint() throws IOException {
+        interceptor.intercept(request(SERVER_URL + "/items/1?from=0&size=20"), new byte[0], respond()).close();
+
+        assertEquals(List.of(URI.create("http://server2:9090/items/1?from=0&size=20")), sentUris);
+        assertEquals(0, endpoint.getOutstanding());
+    }
+
+    @Test
+    void testLeavesOtherUrisAlone() throws IOException {
+        interceptor.intercept(request("http://other:8080/items/1"), new byte[0], respond());
+
+        assertEquals(List.of(URI.create("http://other:8080/items/1")), sentUris);
+        Mockito.verify(loadBalancer, Mockito.never())
+                .choose();
+    }
+
+    @Test
+    void testCountsOutstandingUntilResponseIsClosed() throws IOException {
+        ClientHttpResponse response = interceptor.intercept(request(SERVER_URL + "/items/1"), new byte[0],
+                (request, body) -> {
+                    assertEquals(1, endpoint.getOutstanding());
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                });
+        assertEquals(1, endpoint.getOutstanding());
+
+        response.close();
+        response.close();
+        assertEquals(0, endpoint.getOutstanding());
+    }
+
+    @Test
+    void testEjectsEndpointOnConnectFailure() {
+        assertThrows(ConnectException.class, () -> interceptor.intercept(request(SERVER_URL + "/items/1"),
+                new byte[0], fail(new ConnectException("Connection refused"))));
+
+        Mockito.verify(loadBalancer)
+                .eject(endpoint);
+        assertEquals(0, endpoint.getOutstanding());
+    }
+
+    @Test
+    void testKeepsEndpointOnReadTimeout() {
+        assertThrows(SocketTimeoutException.class, () -> interceptor.intercept(request(SERVER_URL + "/items/1"),
+                new byte[0], fail(new SocketTimeoutException("Read timed out"))));
+
+        Mockito.verify(loadBalancer, Mockito.never())
+                .eject(endpoint);
+        assertEquals(0, endpoint.getOutstanding());
+    }
+
+    @Test
+    void testRetriesIdempotentRequestOnAnotherEndpointAfterConnectFailure() throws IOException {
+        ServerEndpoint other = new ServerEndpoint("http://server3:9090");
+        when(loadBalancer.chooseOther(endpoint))
+                .thenReturn(other);
+
+        ClientHttpResponse response = interceptor.intercept(request(SERVER_URL + "/items/1"), new byte[0],
+                (request, body) -> {
+                    sentUris.add(request.getURI());
+                    if (sentUris.size() == 1) {
+                        throw new ConnectException("Connection refused");
+                    }
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                });
+
+        assertEquals(List.of(URI.create("http://server2:9090/items/1"), URI.create("http://server3:9090/items/1")),
+                sentUris);
+        Mockito.verify(loadBalancer)
+                .eject(endpoint);
+        assertEquals(0, endpoint.getOutstanding());
+        assertEquals(1, other.getOutstanding());
+        response.close();
+        assertEquals(0, other.getOutstanding());
+    }
+
+    @Test
+    void testDoesNotRetryPostAfterConnectFailure() {
+        when(loadBalancer.chooseOther(endpoint))
+                .thenReturn(new ServerEndpoint("http://server3:9090"));
+
+        assertThrows(ConnectException.class, () -> interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.POST, URI.create(SERVER_URL + "/items")),
+                new byte[0], fail(new ConnectException("Connection refused"))));
+
+        Mockito.verify(loadBalancer, Mockito.never())
+                .chooseOther(endpoint);
+    }
+
+    @Test
+    void testDoesNotRetryAfterReadTimeout() {
+        assertThrows(SocketTimeoutException.class, () -> interceptor.intercept(request(SERVER_URL + "/items/1"),
+                new byte[0], fail(new SocketTimeoutException("Read timed out"))));
+
+        Mockito.verify(loadBalancer, Mockito.never())
+                .chooseOther(endpoint);
+    }
+
+    private ClientHttpRequestExecution respond() {
+        return (request, body) -> {
+            sentUris.add(request.getURI());
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+    }
+
+    private static ClientHttpRequestExecution fail(IOException exception) {
+        return (request, body) -> {
+            throw exception;
+        };
+    }
+
+    private static HttpRequest request(String uri) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(uri));
+    }
+}
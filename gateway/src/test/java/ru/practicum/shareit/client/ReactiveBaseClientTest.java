@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReactiveBaseClientTest {
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private TestClient client;
+
+    @BeforeEach
+    void beforeEach() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/items/search", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"user\":\"" + request.requestHeaders().get("X-Sharer-User-Id")
+                                        + "\",\"uri\":\"" + request.uri() + "\"}")))
+                        .post("/items", (request, response) -> response
+                                .status(HttpStatus.BAD_REQUEST.value())
+                                .header("Content-Type", "application/json")
+                                .send(request.receive().retain()))
+                        .get("/items/slow", (request, response) -> response
+                                .sendString(Mono.delay(Duration.ofSeconds(2)).map(tick -> "{}"))))
+                .bindNow();
+
+        ServerClientProperties properties = new ServerClientProperties();
+        properties.setReadTimeout(Duration.ofMillis(200));
+        ServerClientConfig config = new ServerClientConfig();
+        connectionProvider = config.serverConnectionProvider(properties);
+        WebClient webClient = config.serverWebClient("http://localhost:" + server.port(), WebClient.builder(),
+                connectionProvider, properties);
+        client = new TestClient(webClient);
+    }
+
+    @AfterEach
+    void afterEach() {
+        connectionProvider.dispose();
+        server.disposeNow();
+    }
+
+    @Test
+    void testGetPassesUserAndParameters() {
+        ResponseEntity<Object> response = client.get("/search?text={text}", 1L, Map.of("text", "drill")).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"user\":\"1\",\"uri\":\"/items/search?text=drill\"}", body(response));
+    }
+
+    @Test
+    void testServerErrorIsPassedThrough() {
+        ResponseEntity<Object> response = client.post("", 1L, Map.of("name", "")).block();
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("{\"name\":\"\"}", body(response));
+    }
+
+    @Test
+    void testSlowResponseTimesOut() {
+        assertThrows(RuntimeException.class, () -> client.get("/slow", 1L).block());
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static class TestClient extends ReactiveBaseClient {
+
+        TestClient(WebClient webClient) {
+            super(webClient, "/items");
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exeption.ServerUnavailableException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+    private static final String CLIENT = "ItemClient";
+    private static final String KEY = "GET http://localhost:9090/items/1 user=1";
+    private static final int FOLLOWERS = 4;
+
+    private MeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+    private ExecutorService executor;
+    private AtomicInteger loads;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry, new ServerClientProperties());
+        executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+        loads = new AtomicInteger();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentIdenticalRequestsLoadOnce() throws Exception {
+        Future<ResponseEntity<Object>> leader = executor.submit(() -> coalescer.execute(CLIENT, KEY, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return ResponseEntity.ok("item1");
+        }));
+        awaitLeaderStarted();
+        List<Future<ResponseEntity<Object>>> followers = submitFollowers();
+        awaitCoalesced(FOLLOWERS);
+        release.countDown();
+
+        assertEquals("item1", leader.get(5, TimeUnit.SECONDS).getBody());
+        for (Future<ResponseEntity<Object>> follower : followers) {
+            assertEquals("item1", follower.get(5, TimeUnit.SECONDS).getBody());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("shareit.gateway.coalescing.requests").tag("result", "leader")
+                .counter().count());
+    }
+
+    @Test
+    void testLeaderExceptionReachesFollowersUnwrapped() throws Exception {
+        IllegalStateException failure = new IllegalStateException("server unavailable");
+        Future<ResponseEntity<Object>> leader = executor.submit(() -> coalescer.execute(CLIENT, KEY, () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw failure;
+        }));
+        awaitLeaderStarted();
+        List<Future<ResponseEntity<Object>>> followers = submitFollowers();
+        awaitCoalesced(FOLLOWERS);
+        release.countDown();
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        for (Future<ResponseEntity<Object>> follower : followers) {
+            assertSame(failure, assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testFollowerWaitIsBoundedByClientTimeouts() throws Exception {
+        ServerClientProperties.Timeouts timeouts = new ServerClientProperties.Timeouts();
+        timeouts.setConnectTimeout(Duration.ofMillis(50));
+        timeouts.setReadTimeout(Duration.ofMillis(50));
+        ServerClientProperties properties = new ServerClientProperties();
+        properties.setInstances(Map.of(CLIENT, timeouts));
+        coalescer = new RequestCoalescer(meterRegistry, properties);
+        Future<ResponseEntity<Object>> leader = executor.submit(() -> coalescer.execute(CLIENT, KEY, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return ResponseEntity.ok("item1");
+        }));
+        awaitLeaderStarted();
+
+        assertThrows(ServerUnavailableException.class, () -> coalescer.execute(CLIENT, KEY, () -> load("follower")));
+        release.countDown();
+        assertEquals("item1", leader.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testKeyIsReusableAfterCompletion() {
+        coalescer.execute(CLIENT, KEY, () -> load("first"));
+        assertThrows(IllegalStateException.class, () -> coalescer.execute(CLIENT, KEY, () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("server unavailable");
+        }));
+        ResponseEntity<Object> response = coalescer.execute(CLIENT, KEY, () -> load("third"));
+
+        assertEquals(3, loads.get());
+        assertEquals("third", response.getBody());
+        assertEquals(0, meterRegistry.get("shareit.gateway.coalescing.in.flight").gauge().value());
+    }
+
+    @Test
+    void testDifferentKeysAreNotCoalesced() {
+        coalescer.execute(CLIENT, KEY, () -> coalescer.execute(CLIENT, KEY + "&other", () -> load("nested")));
+
+        assertEquals(1, loads.get());
+        assertEquals(0, meterRegistry.get("shareit.gateway.coalescing.requests").tag("result", "coalesced")
+                .counter().count());
+    }
+
+    private List<Future<ResponseEntity<Object>>> submitFollowers() {
+        List<Future<ResponseEntity<Object>>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(executor.submit(() -> coalescer.execute(CLIENT, KEY, () -> load("follower"))));
+        }
+        return followers;
+    }
+
+    private void awaitLeaderStarted() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() == 0) {
+            assertTrue(System.nanoTime() < deadline, "leader did not start");
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("shareit.gateway.coalescing.requests").tag("result", "coalesced")
+                .counter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "followers did not join the leader");
+            Thread.sleep(1);
+        }
+    }
+
+    private ResponseEntity<Object> load(String body) {
+        loads.incrementAndGet();
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
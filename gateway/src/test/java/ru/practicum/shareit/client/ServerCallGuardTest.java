@@ -0,0 +1,153 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exeption.ServerUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerCallGuardTest {
+    private static final int BREAKER_WINDOW = 4;
+
+    private Bulkhead bulkhead;
+    private AdaptiveConcurrencyLimiter limiter;
+    private CircuitBreaker circuitBreaker;
+    private ServerCallGuard guard;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void beforeEach() {
+        bulkhead = Bulkhead.of("items", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, 0.5, TimeUnit.SECONDS.toNanos(1));
+        circuitBreaker = CircuitBreaker.of("items", CircuitBreakerConfig.custom()
+                .slidingWindowSize(BREAKER_WINDOW)
+                .minimumNumberOfCalls(BREAKER_WINDOW)
+                .failureRateThreshold(50)
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+        guard = new ServerCallGuard("items", bulkhead, limiter, circuitBreaker);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void testCallReturnsResultAndReleasesPermits() {
+        assertEquals("item1", guard.call(() -> call("item1")));
+
+        assertEquals(1, calls.get());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void testFullBulkheadIsUnavailable() {
+        assertTrue(bulkhead.tryAcquirePermission());
+
+        ServerUnavailableException exception = assertThrows(ServerUnavailableException.class,
+                () -> guard.call(() -> call("item1")));
+
+        assertEquals("items: too many concurrent calls to the server", exception.getMessage());
+        assertEquals(0, calls.get());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testReachedLimitIsUnavailable() {
+        for (int i = 0; i < limiter.getLimit(); i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        ServerUnavailableException exception = assertThrows(ServerUnavailableException.class,
+                () -> guard.call(() -> call("item1")));
+
+        assertEquals("items: server concurrency limit reached", exception.getMessage());
+        assertEquals(0, calls.get());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void testOpenBreakerIsUnavailable() {
+        circuitBreaker.transitionToOpenState();
+
+        ServerUnavailableException exception = assertThrows(ServerUnavailableException.class,
+                () -> guard.call(() -> call("item1")));
+
+        assertEquals("items: circuit breaker is open", exception.getMessage());
+        assertEquals(0, calls.get());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(10, limiter.getLimit());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void testClientErrorIsIgnoredByBreaker() {
+        for (int i = 0; i < BREAKER_WINDOW; i++) {
+            assertThrows(HttpClientErrorException.class, () -> guard.call(() -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testServerErrorIsCounted() {
+        assertThrows(HttpServerErrorException.class, () -> guard.call(() -> {
+            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+        }));
+
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testIoErrorIsCounted() {
+        assertThrows(ResourceAccessException.class, () -> guard.call(() -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void testServerErrorsOpenBreaker() {
+        for (int i = 0; i < BREAKER_WINDOW; i++) {
+            assertThrows(HttpServerErrorException.class, () -> guard.call(() -> {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(ServerUnavailableException.class, () -> guard.call(() -> call("item1")));
+        assertEquals(0, calls.get());
+    }
+
+    private String call(String result) {
+        calls.incrementAndGet();
+        return result;
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServerCallGuardsTest {
+    private ServerClientProperties properties;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new ServerClientProperties();
+        properties.setLimiterMaxLimit(200);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testBulkheadCoversLimiterMaxLimit() {
+        ServerCallGuards guards = guards(200);
+
+        assertNotNull(guards.forClient("ItemClient"));
+        assertEquals(20, meterRegistry.get("shareit.gateway.concurrency.limit").tag("client", "ItemClient")
+                .gauge().value());
+    }
+
+    @Test
+    void testBulkheadBelowLimiterMaxLimitIsRejected() {
+        ServerCallGuards guards = guards(100);
+
+        assertThrows(IllegalStateException.class, () -> guards.forClient("ItemClient"));
+    }
+
+    private ServerCallGuards guards(int maxConcurrentCalls) {
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .build());
+        return new ServerCallGuards(CircuitBreakerRegistry.ofDefaults(), bulkheadRegistry, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ServerClientPropertiesTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PropertiesConfig.class);
+
+    @Test
+    void testClientTimeoutsOverrideDefaults() {
+        contextRunner.withPropertyValues("shareit-server.client.connect-timeout=5s",
+                        "shareit-server.client.read-timeout=30s",
+                        "shareit-server.client.instances.ItemClient.read-timeout=10s")
+                .run(context -> {
+                    ServerClientProperties properties = context.getBean(ServerClientProperties.class);
+                    assertEquals(Duration.ofSeconds(10), properties.getReadTimeout("ItemClient"));
+                    assertEquals(Duration.ofSeconds(5), properties.getConnectTimeout("ItemClient"));
+                    assertEquals(Duration.ofSeconds(30), properties.getReadTimeout("UserClient"));
+                    assertEquals(Duration.ofSeconds(5), properties.getConnectTimeout("UserClient"));
+                });
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(ServerClientProperties.class)
+    static class PropertiesConfig {
+    }
+}
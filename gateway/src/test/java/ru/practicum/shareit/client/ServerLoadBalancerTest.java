@@ -0,0 +1,156 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerLoadBalancerTest {
+    private static final String SERVER_1 = "http://server1:9090";
+    private static final String SERVER_2 = "http://server2:9090";
+    private static final String SERVER_3 = "http://server3:9090";
+    private static final int CHOICES = 200;
+
+    private CloseableHttpClient httpClient;
+    private ServerClientProperties properties;
+    private ServerLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void beforeEach() {
+        httpClient = HttpClients.createDefault();
+        properties = new ServerClientProperties();
+        properties.setUrls(List.of(SERVER_1 + "/", SERVER_2, SERVER_3));
+        loadBalancer = new ServerLoadBalancer(properties, httpClient, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        loadBalancer.destroy();
+        httpClient.close();
+    }
+
+    @Test
+    void testChooseSpreadsOverHealthyServers() {
+        assertEquals(Set.of(SERVER_1, SERVER_2, SERVER_3), chosenUrls());
+    }
+
+    @Test
+    void testChoosePrefersFewerOutstandingRequests() {
+        properties.setUrls(List.of(SERVER_1, SERVER_2));
+        loadBalancer = new ServerLoadBalancer(properties, httpClient, new SimpleMeterRegistry());
+        ServerEndpoint busy = loadBalancer.choose();
+        busy.acquire();
+
+        for (int i = 0; i < CHOICES; i++) {
+            assertNotSame(busy, loadBalancer.choose());
+        }
+    }
+
+    @Test
+    void testEjectedServerIsNotChosen() {
+        ServerEndpoint ejected = endpoint(SERVER_2);
+        loadBalancer.eject(ejected);
+
+        assertFalse(ejected.isHealthy());
+        assertEquals(Set.of(SERVER_1, SERVER_3), chosenUrls());
+    }
+
+    @Test
+    void testAllUnhealthyFallsBackToAllServers() {
+        for (String url : List.of(SERVER_1, SERVER_2, SERVER_3)) {
+            loadBalancer.eject(endpoint(url));
+        }
+
+        assertEquals(Set.of(SERVER_1, SERVER_2, SERVER_3), chosenUrls());
+    }
+
+    @Test
+    void testChooseOtherSkipsFailedAndUnhealthyServers() {
+        ServerEndpoint failed = endpoint(SERVER_1);
+        loadBalancer.eject(endpoint(SERVER_2));
+
+        for (int i = 0; i < CHOICES; i++) {
+            assertSame(endpoint(SERVER_3), loadBalancer.chooseOther(failed));
+        }
+        loadBalancer.eject(endpoint(SERVER_3));
+        assertNull(loadBalancer.chooseOther(failed));
+    }
+
+    @Test
+    void testSingleServerIsNeverEjected() {
+        properties.setUrls(List.of(SERVER_1));
+        loadBalancer = new ServerLoadBalancer(properties, httpClient, new SimpleMeterRegistry());
+        ServerEndpoint only = loadBalancer.choose();
+
+        loadBalancer.eject(only);
+
+        assertTrue(only.isHealthy());
+        assertSame(only, loadBalancer.choose());
+    }
+
+    @Test
+    void testServerIsReinstatedAfterHealthyThreshold() {
+        ServerEndpoint endpoint = endpoint(SERVER_2);
+        loadBalancer.eject(endpoint);
+
+        endpoint.recordCheck(true, 2, 2);
+        assertFalse(endpoint.isHealthy());
+        endpoint.recordCheck(true, 2, 2);
+        assertTrue(endpoint.isHealthy());
+        assertEquals(Set.of(SERVER_1, SERVER_2, SERVER_3), chosenUrls());
+    }
+
+    @Test
+    void testServerIsEjectedAfterUnhealthyThreshold() {
+        ServerEndpoint endpoint = endpoint(SERVER_2);
+
+        endpoint.recordCheck(false, 2, 2);
+        assertTrue(endpoint.isHealthy());
+        endpoint.recordCheck(true, 2, 2);
+        endpoint.recordCheck(false, 2, 2);
+        assertTrue(endpoint.isHealthy());
+        endpoint.recordCheck(false, 2, 2);
+        assertFalse(endpoint.isHealthy());
+    }
+
+    @Test
+    void testRequiresAtLeastOneServer() {
+        properties.setUrls(List.of());
+
+        assertThrows(IllegalStateException.class,
+                () -> new ServerLoadBalancer(properties, httpClient, new SimpleMeterRegistry()));
+    }
+
+    private Set<String> chosenUrls() {
+        Set<String> urls = new HashSet<>();
+        for (int i = 0; i < CHOICES; i++) {
+            urls.add(loadBalancer.choose().getUrl());
+        }
+        return urls;
+    }
+
+    private ServerEndpoint endpoint(String url) {
+        for (int i = 0; i < CHOICES; i++) {
+            ServerEndpoint endpoint = loadBalancer.choose();
+            if (endpoint.getUrl().equals(url)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Server " + url + " was never chosen");
+    }
+}
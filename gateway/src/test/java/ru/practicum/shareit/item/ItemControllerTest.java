@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exeption.ServerUnavailableException;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemController.class, properties = {
+        "shareit.rate-limit.routes[/items/search].capacity=2",
+        "shareit.rate-limit.routes[/items/search].permits-per-second=0.1"})
+@Import({RateLimitProperties.class, SimpleMeterRegistry.class})
+class ItemControllerTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int SEARCH_CAPACITY = 2;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testGetItemByIdWhenServerUnavailable() throws Exception {
+        when(itemClient.getItemById(1L, 1L))
+                .thenThrow(new ServerUnavailableException("items: circuit breaker is open"));
+
+        mockMvc.perform(get("/items/{itemId}", 1L)
+                        .header(USER_ID_HEADER, 1L))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error", is("items: circuit breaker is open")));
+    }
+
+    @Test
+    void testSearchItemsOverRateLimit() throws Exception {
+        when(itemClient.searchItems("дрель", 0, 20))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        for (int i = 0; i < SEARCH_CAPACITY; i++) {
+            mockMvc.perform(get("/items/search")
+                            .header(USER_ID_HEADER, 1L)
+                            .param("text", "дрель"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/items/search")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("text", "дрель"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.error", is("Rate limit exceeded for /items/search")));
+        mockMvc.perform(get("/items/search")
+                        .header(USER_ID_HEADER, 2L)
+                        .param("text", "дрель"))
+                .andExpect(status().isOk());
+        verify(itemClient, times(SEARCH_CAPACITY + 1)).searchItems("дрель", 0, 20);
+    }
+
+    @Test
+    void testSearchItemsWithoutUserIdOverRateLimit() throws Exception {
+        when(itemClient.searchItems("пила", 0, 20))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        for (int i = 0; i < SEARCH_CAPACITY; i++) {
+            mockMvc.perform(get("/items/search")
+                            .param("text", "пила"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/items/search")
+                        .param("text", "пила"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.error", is("Rate limit exceeded for /items/search")));
+        verify(itemClient, times(SEARCH_CAPACITY)).searchItems("пила", 0, 20);
+    }
+}
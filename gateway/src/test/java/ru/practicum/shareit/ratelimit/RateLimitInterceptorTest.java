@@ -0,0 +1,101 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.exeption.TooManyRequestsException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitInterceptorTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String SEARCH_ROUTE = "/items/search";
+
+    private MeterRegistry meterRegistry;
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(Map.of(SEARCH_ROUTE, budget(2, 0.4)));
+        interceptor = new RateLimitInterceptor(properties, meterRegistry);
+    }
+
+    @Test
+    void testRejectsRequestsOverBudget() {
+        assertTrue(preHandle("1", SEARCH_ROUTE));
+        assertTrue(preHandle("1", SEARCH_ROUTE));
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> preHandle("1", SEARCH_ROUTE));
+
+        assertEquals("Rate limit exceeded for " + SEARCH_ROUTE, exception.getMessage());
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("shareit.gateway.rate.limited").tag("route", SEARCH_ROUTE)
+                .counter().count());
+    }
+
+    @Test
+    void testBudgetsArePerUser() {
+        preHandle("1", SEARCH_ROUTE);
+        preHandle("1", SEARCH_ROUTE);
+
+        assertTrue(preHandle("2", SEARCH_ROUTE));
+    }
+
+    @Test
+    void testEquivalentUserIdsShareBudget() {
+        preHandle("1", SEARCH_ROUTE);
+        preHandle("01", SEARCH_ROUTE);
+
+        assertThrows(TooManyRequestsException.class, () -> preHandle(" 1", SEARCH_ROUTE));
+    }
+
+    @Test
+    void testAnonymousRequestsAreLimitedByAddress() {
+        preHandle(null, SEARCH_ROUTE);
+        preHandle("not-a-user", SEARCH_ROUTE);
+
+        assertThrows(TooManyRequestsException.class, () -> preHandle(null, SEARCH_ROUTE));
+        assertTrue(preHandle(null, SEARCH_ROUTE, "10.0.0.2"));
+        assertTrue(preHandle("1", SEARCH_ROUTE));
+    }
+
+    @Test
+    void testSkipsUnlimitedRoutes() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(preHandle("1", "/items/{itemId}"));
+            assertTrue(preHandle(null, "/items/{itemId}"));
+        }
+    }
+
+    private boolean preHandle(String userId, String route) {
+        return preHandle(userId, route, "10.0.0.1");
+    }
+
+    private boolean preHandle(String userId, String route, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", route);
+        request.setRemoteAddr(remoteAddr);
+        if (userId != null) {
+            request.addHeader(USER_ID_HEADER, userId);
+        }
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+    }
+
+    private static RateLimitProperties.Budget budget(long capacity, double permitsPerSecond) {
+        RateLimitProperties.Budget budget = new RateLimitProperties.Budget();
+        budget.setCapacity(capacity);
+        budget.setPermitsPerSecond(permitsPerSecond);
+        return budget;
+    }
+}
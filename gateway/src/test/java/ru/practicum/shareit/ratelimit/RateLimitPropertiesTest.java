@@ -0,0 +1,63 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.validation.FieldError;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitPropertiesTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(PropertiesConfig.class);
+
+    @Test
+    void testBindsPositiveBudget() {
+        contextRunner.withPropertyValues("shareit.rate-limit.routes[/items/search].capacity=20",
+                        "shareit.rate-limit.routes[/items/search].permits-per-second=0.5")
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertEquals(0.5, context.getBean(RateLimitProperties.class).getRoutes()
+                            .get("/items/search").getPermitsPerSecond());
+                });
+    }
+
+    @Test
+    void testRejectsZeroPermitsPerSecond() {
+        contextRunner.withPropertyValues("shareit.rate-limit.routes[/items/search].capacity=20",
+                        "shareit.rate-limit.routes[/items/search].permits-per-second=0")
+                .run(context -> assertRejected(context.getStartupFailure(), "permitsPerSecond"));
+    }
+
+    @Test
+    void testRejectsZeroCapacity() {
+        contextRunner.withPropertyValues("shareit.rate-limit.routes[/items/search].capacity=0",
+                        "shareit.rate-limit.routes[/items/search].permits-per-second=10")
+                .run(context -> assertRejected(context.getStartupFailure(), "capacity"));
+    }
+
+    private static void assertRejected(Throwable failure, String field) {
+        assertNotNull(failure);
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(failure);
+        assertInstanceOf(BindValidationException.class, cause);
+        assertEquals(field, ((BindValidationException) cause).getValidationErrors().getAllErrors().stream()
+                .map(error -> ((FieldError) error).getField())
+                .collect(Collectors.joining(",")).replace("routes[/items/search].", ""));
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class PropertiesConfig {
+    }
+}
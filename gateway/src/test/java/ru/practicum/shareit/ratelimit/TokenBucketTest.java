@@ -0,0 +1,61 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+    private static final long START = TimeUnit.SECONDS.toNanos(100);
+    private static final long EMISSION_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void testBurstEqualsCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 10, START);
+
+        assertEquals(0, bucket.tryConsume(START));
+        assertEquals(0, bucket.tryConsume(START));
+        assertEquals(0, bucket.tryConsume(START));
+        assertEquals(EMISSION_INTERVAL, bucket.tryConsume(START));
+    }
+
+    @Test
+    void testRejectedRequestDoesNotConsume() {
+        TokenBucket bucket = new TokenBucket(1, 10, START);
+
+        assertEquals(0, bucket.tryConsume(START));
+        assertEquals(EMISSION_INTERVAL, bucket.tryConsume(START));
+        assertEquals(EMISSION_INTERVAL / 2, bucket.tryConsume(START + EMISSION_INTERVAL / 2));
+        assertEquals(0, bucket.tryConsume(START + EMISSION_INTERVAL));
+    }
+
+    @Test
+    void testRefillsOnePermitPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket(2, 10, START);
+        bucket.tryConsume(START);
+        bucket.tryConsume(START);
+
+        assertEquals(0, bucket.tryConsume(START + EMISSION_INTERVAL));
+        assertEquals(EMISSION_INTERVAL, bucket.tryConsume(START + EMISSION_INTERVAL));
+        assertEquals(0, bucket.tryConsume(START + 2 * EMISSION_INTERVAL));
+    }
+
+    @Test
+    void testIdleBucketRefillsOnlyUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 10, START);
+        long later = START + TimeUnit.MINUTES.toNanos(1);
+
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(EMISSION_INTERVAL, bucket.tryConsume(later));
+    }
+
+    @Test
+    void testFractionalRate() {
+        TokenBucket bucket = new TokenBucket(1, 0.4, START);
+
+        assertEquals(0, bucket.tryConsume(START));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2500), bucket.tryConsume(START));
+    }
+}
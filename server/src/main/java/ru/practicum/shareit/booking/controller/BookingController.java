@@ -3,16 +3,20 @@ package ru.practicum.shareit.booking.controller;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.Collection;
+import java.util.List;
 
 @SuppressWarnings("checkstyle:Regexp")
 @Slf4j
@@ -21,6 +25,7 @@ import java.util.Collection;
 public class BookingController {
 
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final BookingService bookingService;
 
     @Autowired
@@ -43,34 +48,55 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public Booking getBookingById(@RequestHeader(USER_ID_HEADER) Long userId,
-                                  @PathVariable Long bookingId) {
+    public BookingDto getBookingById(@RequestHeader(USER_ID_HEADER) Long userId,
+                                     @PathVariable Long bookingId) {
         log.info("Получен Get запрос к эндпоинту /bookings/{bookingId}");
-        return bookingService.getBookingById(userId, bookingId);
+        return BookingMapper.toBookingDto(bookingService.getBookingById(userId, bookingId));
     }
 
     @GetMapping
-    public Collection<Booking> getBookingsByUser(@RequestHeader(USER_ID_HEADER) Long userId,
+    public Collection<BookingDtoOut> getBookingsByUser(@RequestHeader(USER_ID_HEADER) Long userId,
                                            @RequestParam(value = "state", defaultValue = "ALL") String stateText,
                                            @RequestParam(defaultValue = "0") Integer from,
-                                           @RequestParam(defaultValue = "20") Integer size) {
+                                           @RequestParam(defaultValue = "20") Integer size,
+                                           @RequestParam(required = false) String cursor,
+                                           HttpServletResponse response) {
         State state = BookingStatus.findState(stateText);
         log.info("Получен Get запрос к эндпоинту /bookings?state={}from={}size={}", stateText, from, size);
+        if (cursor != null) {
+            Slice<BookingDtoOut> bookings = bookingService.getBookingsByUser(userId, state, BookingCursor.from(cursor, state), size);
+            return withNextCursor(bookings, state, response);
+        }
         final PageRequest pageRequest = findPageRequest(from, size);
         return bookingService.getBookingsByUser(userId, state, pageRequest);
     }
 
     @GetMapping("/owner")
-    public Collection<Booking> getBookingsByOwner(@RequestHeader(USER_ID_HEADER) Long ownerId,
+    public Collection<BookingDtoOut> getBookingsByOwner(@RequestHeader(USER_ID_HEADER) Long ownerId,
                                           @RequestParam(value = "state", defaultValue = "ALL") String stateText,
                                           @RequestParam(defaultValue = "0") Integer from,
-                                          @RequestParam(defaultValue = "20") Integer size) {
+                                          @RequestParam(defaultValue = "20") Integer size,
+                                          @RequestParam(required = false) String cursor,
+                                          HttpServletResponse response) {
         State state = BookingStatus.findState(stateText);
         log.info("Получен Get запрос к эндпоинту /bookings/owner?state={}from={}size={}", stateText, from, size);
+        if (cursor != null) {
+            Slice<BookingDtoOut> bookings = bookingService.getBookingsByOwner(ownerId, state, BookingCursor.from(cursor, state), size);
+            return withNextCursor(bookings, state, response);
+        }
         final PageRequest pageRequest = findPageRequest(from, size);
         return bookingService.getBookingsByOwner(ownerId, state, pageRequest);
     }
 
+    private Collection<BookingDtoOut> withNextCursor(Slice<BookingDtoOut> bookings, State state,
+                                                     HttpServletResponse response) {
+        List<BookingDtoOut> content = bookings.getContent();
+        if (bookings.hasNext()) {
+            response.setHeader(NEXT_CURSOR_HEADER, BookingCursor.after(content.get(content.size() - 1), state).format());
+        }
+        return content;
+    }
+
     public PageRequest findPageRequest(Integer from, Integer size) {
         int page = from / size;
         return PageRequest.of(page, size);
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.exeption.ValidationException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+@Value
+public class BookingCursor {
+    public static final BookingCursor FIRST = new BookingCursor(null, LocalDateTime.of(9999, 12, 31, 23, 59),
+            Long.MAX_VALUE);
+    private static final String SEPARATOR = "_";
+
+    SortKey key;
+    LocalDateTime position;
+    Long id;
+
+    public static BookingCursor from(String cursorText, State state) {
+        if (cursorText.isBlank()) {
+            return FIRST;
+        }
+        String[] parts = cursorText.split(SEPARATOR, -1);
+        try {
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(cursorText);
+            }
+            SortKey key = SortKey.valueOf(parts[0].toUpperCase(Locale.ROOT));
+            if (key != SortKey.of(state)) {
+                throw new ValidationException(HttpStatus.BAD_REQUEST,
+                        "Курсор " + cursorText + " не подходит для state=" + state);
+            }
+            return new BookingCursor(key, LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new ValidationException(HttpStatus.BAD_REQUEST,
+                    "Некорректный курсор: " + cursorText);
+        }
+    }
+
+    public static BookingCursor after(BookingDtoOut booking, State state) {
+        SortKey key = SortKey.of(state);
+        return new BookingCursor(key, key == SortKey.START ? booking.getStart() : booking.getEnd(), booking.getId());
+    }
+
+    public String format() {
+        return key.name().toLowerCase(Locale.ROOT) + SEPARATOR + position + SEPARATOR + id;
+    }
+
+    public enum SortKey {
+        START,
+        END;
+
+        public static SortKey of(State state) {
+            return state == State.FUTURE ? START : END;
+        }
+    }
+}
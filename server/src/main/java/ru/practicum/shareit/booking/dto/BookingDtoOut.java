@@ -4,9 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.common.Create;
 
-import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Data
@@ -14,11 +12,30 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class BookingDtoOut {
     private Long id;
-    @NotNull(groups = {Create.class})
     private LocalDateTime start;
-    @NotNull(groups = {Create.class})
     private LocalDateTime end;
-    @NotNull(groups = {Create.class})
-    private Long itemId;
     private BookingStatus status;
+    private ItemShort item;
+    private BookerShort booker;
+
+    public BookingDtoOut(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                         Long itemId, String itemName, Long bookerId, String bookerName) {
+        this(id, start, end, status, new ItemShort(itemId, itemName), new BookerShort(bookerId, bookerName));
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemShort {
+        private Long id;
+        private String name;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BookerShort {
+        private Long id;
+        private String name;
+    }
 }
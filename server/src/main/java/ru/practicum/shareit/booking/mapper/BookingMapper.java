@@ -3,7 +3,10 @@ package ru.practicum.shareit.booking.mapper;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoItem;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -28,6 +31,12 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingDtoOut toBookingDtoOut(Booking booking) {
+        return new BookingDtoOut(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booking.getItem().getId(), booking.getItem().getName(),
+                booking.getBooker().getId(), booking.getBooker().getName());
+    }
+
     public static BookingDtoItem toBookingDtoItem(Booking booking) {
         return BookingDtoItem.builder()
                 .id(booking.getId())
@@ -39,6 +48,17 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingDtoItem toBookingDtoItem(BookingDtoShort booking, Item item) {
+        return BookingDtoItem.builder()
+                .id(booking.getId())
+                .start(booking.getStartDate())
+                .end(booking.getEndDate())
+                .item(item)
+                .status(BookingStatus.valueOf(booking.getStatus()))
+                .bookerId(booking.getBookerId())
+                .build();
+    }
+
     public static Booking toBooking(Long bookingId, User booker, Item item, BookingDtoIn bookingDtoIn) {
         return Booking.builder()
                 .id(bookingId)
@@ -2,106 +2,210 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @SuppressWarnings("checkstyle:Regexp")
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    String BOOKING_DTO_OUT_QUERY = "select new ru.practicum.shareit.booking.dto.BookingDtoOut(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, u.id, u.name) " +
+            "from Booking b join b.item i join b.booker u ";
 
-    @Query("select b " +
-            "from Booking b " +
+    @Query(BOOKING_DTO_OUT_QUERY +
             "where b.booker.id = ?1 " +
-            "group by b.id " +
-            "order by b.end desc")
-    Page<Booking> getAllBookingsByUser(Long userId, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where (b.booker.id = ?1) and (?2 > b.start and ?2 < b.end)" +
-            "group by b.id " +
-            "order by b.end desc")
-    Page<Booking> getCurrentBookingsByUser(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where (b.booker.id = ?1)  and (?2 > b.end)" +
-            "group by b.id " +
-            "order by b.end desc")
-    Page<Booking> getPastBookingsByUser(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where (b.booker.id = ?1) and (?2 < b.start)" +
-            "group by b.id " +
-            "order by b.start desc")
-    Page<Booking> getFutureBookingsByUser(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "group by b.id " +
-            "order by b.end desc")
-    Page<Booking> getAllBookingsByOwner(Long userId, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where (b.item.owner.id = ?1) and (?2 > b.start and ?2 < b.end)" +
-            "group by b.id " +
-            "order by b.end desc")
-    Page<Booking> getCurrentBookingsByOwner(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where (b.item.owner.id = ?1)  and (?2 > b.end)" +
-            "group by b.id " +
-            "order by b.end desc")
-    Page<Booking> getPastBookingsByOwner(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where (b.item.owner.id = ?1) and (?2 < b.start)" +
-            "group by b.id " +
-            "order by b.start desc")
-    Page<Booking> getFutureBookingsByOwner(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
-
+            "order by b.end desc, b.id desc")
+    Page<BookingDtoOut> getAllBookingsByUser(Long userId, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (b.booker.id = ?1) and (?2 > b.start and ?2 < b.end) " +
+            "order by b.end desc, b.id desc")
+    Page<BookingDtoOut> getCurrentBookingsByUser(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (b.booker.id = ?1)  and (?2 > b.end) " +
+            "order by b.end desc, b.id desc")
+    Page<BookingDtoOut> getPastBookingsByUser(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (b.booker.id = ?1) and (?2 < b.start) " +
+            "order by b.start desc, b.id desc")
+    Page<BookingDtoOut> getFutureBookingsByUser(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where i.owner.id = ?1 " +
+            "order by b.end desc, b.id desc")
+    Page<BookingDtoOut> getAllBookingsByOwner(Long userId, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (i.owner.id = ?1) and (?2 > b.start and ?2 < b.end) " +
+            "order by b.end desc, b.id desc")
+    Page<BookingDtoOut> getCurrentBookingsByOwner(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (i.owner.id = ?1)  and (?2 > b.end) " +
+            "order by b.end desc, b.id desc")
+    Page<BookingDtoOut> getPastBookingsByOwner(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (i.owner.id = ?1) and (?2 < b.start) " +
+            "order by b.start desc, b.id desc")
+    Page<BookingDtoOut> getFutureBookingsByOwner(Long userId, LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (b.booker.id = ?1) and (b.status = ?2) " +
+            "order by b.end desc, b.id desc")
+    Page<BookingDtoOut> getWaitingRejectedBookingsByBooker(Long bookerId, BookingStatus bookingStatus, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (i.owner.id = ?1) and (b.status = ?2) " +
+            "order by b.end desc, b.id desc")
+    Page<BookingDtoOut> getWaitingRejectedBookingsByOwner(Long ownerId, BookingStatus bookingStatus, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (b.booker.id = ?1) " +
+            "and (b.end < ?2 or (b.end = ?2 and b.id < ?3)) " +
+            "order by b.end desc, b.id desc")
+    Slice<BookingDtoOut> getAllBookingsByUserAfter(Long userId, LocalDateTime cursorEnd, Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (b.booker.id = ?1) and (?4 > b.start and ?4 < b.end) " +
+            "and (b.end < ?2 or (b.end = ?2 and b.id < ?3)) " +
+            "order by b.end desc, b.id desc")
+    Slice<BookingDtoOut> getCurrentBookingsByUserAfter(Long userId, LocalDateTime cursorEnd, Long cursorId,
+                                                 LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (b.booker.id = ?1) and (?4 > b.end) " +
+            "and (b.end < ?2 or (b.end = ?2 and b.id < ?3)) " +
+            "order by b.end desc, b.id desc")
+    Slice<BookingDtoOut> getPastBookingsByUserAfter(Long userId, LocalDateTime cursorEnd, Long cursorId,
+                                              LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (b.booker.id = ?1) and (?4 < b.start) " +
+            "and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) " +
+            "order by b.start desc, b.id desc")
+    Slice<BookingDtoOut> getFutureBookingsByUserAfter(Long userId, LocalDateTime cursorStart, Long cursorId,
+                                                LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (i.owner.id = ?1) " +
+            "and (b.end < ?2 or (b.end = ?2 and b.id < ?3)) " +
+            "order by b.end desc, b.id desc")
+    Slice<BookingDtoOut> getAllBookingsByOwnerAfter(Long userId, LocalDateTime cursorEnd, Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (i.owner.id = ?1) and (?4 > b.start and ?4 < b.end) " +
+            "and (b.end < ?2 or (b.end = ?2 and b.id < ?3)) " +
+            "order by b.end desc, b.id desc")
+    Slice<BookingDtoOut> getCurrentBookingsByOwnerAfter(Long userId, LocalDateTime cursorEnd, Long cursorId,
+                                                  LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (i.owner.id = ?1) and (?4 > b.end) " +
+            "and (b.end < ?2 or (b.end = ?2 and b.id < ?3)) " +
+            "order by b.end desc, b.id desc")
+    Slice<BookingDtoOut> getPastBookingsByOwnerAfter(Long userId, LocalDateTime cursorEnd, Long cursorId,
+                                               LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (i.owner.id = ?1) and (?4 < b.start) " +
+            "and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) " +
+            "order by b.start desc, b.id desc")
+    Slice<BookingDtoOut> getFutureBookingsByOwnerAfter(Long userId, LocalDateTime cursorStart, Long cursorId,
+                                                 LocalDateTime dateTimeNow, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (b.booker.id = ?1) and (b.status = ?4) " +
+            "and (b.end < ?2 or (b.end = ?2 and b.id < ?3)) " +
+            "order by b.end desc, b.id desc")
+    Slice<BookingDtoOut> getWaitingRejectedBookingsByBookerAfter(Long bookerId, LocalDateTime cursorEnd, Long cursorId,
+                                                           BookingStatus bookingStatus, Pageable pageable);
+
+    @Query(BOOKING_DTO_OUT_QUERY +
+            "where (i.owner.id = ?1) and (b.status = ?4) " +
+            "and (b.end < ?2 or (b.end = ?2 and b.id < ?3)) " +
+            "order by b.end desc, b.id desc")
+    Slice<BookingDtoOut> getWaitingRejectedBookingsByOwnerAfter(Long ownerId, LocalDateTime cursorEnd, Long cursorId,
+                                                          BookingStatus bookingStatus, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.itemRequest", "item.itemRequest.requester", "booker"})
+    Optional<Booking> findById(Long bookingId);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.itemRequest", "item.itemRequest.requester"})
     @Query("select b " +
             "from Booking b " +
-            "where (b.booker.id = ?1) and (b.status = ?2)" +
-            "group by b.id " +
-            "order by b.end desc")
-    Page<Booking> getWaitingRejectedBookingsByBooker(Long bookerId, BookingStatus bookingStatus, Pageable pageable);
+            "where (b.item.id =?1) and (?2 > b.start) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findLastBookingsByItemId(Long itemId, LocalDateTime dateTimeNow, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.itemRequest", "item.itemRequest.requester"})
     @Query("select b " +
             "from Booking b " +
-            "where (b.item.owner.id = ?1) and (b.status = ?2)" +
-            "group by b.id " +
-            "order by b.end desc")
-    Page<Booking> getWaitingRejectedBookingsByOwner(Long ownerId, BookingStatus bookingStatus, Pageable pageable);
+            "where (b.item.id =?1) and (?2 < b.start) " +
+            "order by b.start asc, b.id asc")
+    Slice<Booking> findNextBookingsByItemId(Long itemId, LocalDateTime dateTimeNow, Pageable pageable);
 
     @Query("select b " +
             "from Booking b " +
-            "where (b.item.id =?1) and (?2 > b.start)" +
-            "group by b.id " +
-            "order by b.id desc")
-    Page<Booking> findLastBookingsByItemId(Long itemId, LocalDateTime dateTimeNow, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where (b.item.id =?1) and (?2 < b.start)" +
-            "group by b.id " +
-            "order by b.id asc")
-    Page<Booking> findNextBookingsByItemId(Long itemId, LocalDateTime dateTimeNow, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where (b.item.id =?1) and (b.booker.id = ?2) and (?3 > b.end)" +
-            "group by b.id " +
+            "where (b.item.id =?1) and (b.booker.id = ?2) and (?3 > b.end) " +
             "order by b.id desc")
     Booking findBookerByItemId(Long itemId, Long authorId, LocalDateTime dateTimeNow);
+
+    @Query(value = "select b.booking_id as id, b.start_date as startDate, b.end_date as endDate, " +
+            "b.item_id as itemId, b.booker_id as bookerId, b.status as status " +
+            "from (select bk.*, row_number() over (partition by bk.item_id order by bk.start_date desc, bk.booking_id desc) as rn " +
+            "      from bookings bk " +
+            "      where bk.item_id in (?1) and bk.start_date < ?2) b " +
+            "where b.rn = 1", nativeQuery = true)
+    List<BookingDtoShort> findLastBookingsByItemIds(Collection<Long> itemIds, LocalDateTime dateTimeNow);
+
+    @Query(value = "select b.booking_id as id, b.start_date as startDate, b.end_date as endDate, " +
+            "b.item_id as itemId, b.booker_id as bookerId, b.status as status " +
+            "from (select bk.*, row_number() over (partition by bk.item_id order by bk.start_date asc, bk.booking_id asc) as rn " +
+            "      from bookings bk " +
+            "      where bk.item_id in (?1) and bk.start_date > ?2) b " +
+            "where b.rn = 1", nativeQuery = true)
+    List<BookingDtoShort> findNextBookingsByItemIds(Collection<Long> itemIds, LocalDateTime dateTimeNow);
+
+    @Query(value = "select b.booking_id as id, b.start_date as startDate, b.end_date as endDate, " +
+            "b.item_id as itemId, b.booker_id as bookerId, b.status as status " +
+            "from bookings b " +
+            "where b.item_id = ?1 and b.end_date > ?2 and b.start_date < ?3 " +
+            "and b.status in ('WAITING', 'APPROVED') " +
+            "order by b.start_date", nativeQuery = true)
+    List<BookingDtoShort> findActiveBookingsByItemIdBetween(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b " +
+            "set b.status = ?3, b.version = b.version + 1 " +
+            "where b.id = ?1 and b.status = ?4 " +
+            "and b.item.id in (select i.id from Item i where i.owner.id = ?2)")
+    int updateStatusByOwner(Long bookingId, Long ownerId, BookingStatus newStatus, BookingStatus expectedStatus);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b " +
+            "set b.status = ?3, b.version = b.version + 1 " +
+            "where b.id = ?1 and b.version = ?2 and b.status = ?4 " +
+            "and not exists (select o.id from Booking o where o.item.id = b.item.id and o.id <> b.id " +
+            "and o.status in ?5 and o.start < b.end and o.end > b.start)")
+    int updateStatusIfItemFree(Long bookingId, long version, BookingStatus newStatus, BookingStatus expectedStatus,
+                               Collection<BookingStatus> activeStatuses);
 }
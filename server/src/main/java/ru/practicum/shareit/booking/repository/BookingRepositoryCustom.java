@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.Optional;
+
+public interface BookingRepositoryCustom {
+
+    Optional<Booking> saveIfItemFree(Booking booking);
+}
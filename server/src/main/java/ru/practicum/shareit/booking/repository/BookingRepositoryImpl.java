@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Optional;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Optional<Booking> saveIfItemFree(Booking booking) {
+        // the item row lock serializes bookings of one item, so the overlap check below cannot race
+        entityManager.find(Item.class, booking.getItem().getId(), LockModeType.PESSIMISTIC_WRITE);
+        boolean overlaps = entityManager.createQuery("select count(b) " +
+                        "from Booking b " +
+                        "where b.item.id = ?1 and b.status in ?2 and b.start < ?3 and b.end > ?4", Long.class)
+                .setParameter(1, booking.getItem().getId())
+                .setParameter(2, ACTIVE_STATUSES)
+                .setParameter(3, booking.getEnd())
+                .setParameter(4, booking.getStart())
+                .getSingleResult() > 0;
+        if (overlaps) {
+            return Optional.empty();
+        }
+        Booking savedBooking;
+        if (booking.getId() == null) {
+            entityManager.persist(booking);
+            savedBooking = booking;
+        } else {
+            savedBooking = entityManager.merge(booking);
+        }
+        entityManager.flush();
+        return Optional.of(savedBooking);
+    }
+}
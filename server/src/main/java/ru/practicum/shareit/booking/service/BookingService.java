@@ -1,48 +1,65 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exeption.ValidationException;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 @SuppressWarnings("checkstyle:Regexp")
 @Slf4j
 @Service
+@Timed(value = "shareit.service", histogram = true)
 public class BookingService {
+    private static final int APPROVE_ATTEMPTS = 3;
+    private static final int AVAILABILITY_DEFAULT_DAYS = 30;
+    private static final int AVAILABILITY_MAX_DAYS = 366;
+    private static final String OVERLAP_CONSTRAINT = "EX_BOOKING_ITEM_PERIOD";
+    private static final String EXCLUSION_VIOLATION_STATE = "23P01";
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
     public BookingService(BookingRepository bookingRepository,
-                          UserRepository userRepository, ItemRepository itemRepository) {
+                          UserRepository userRepository, ItemRepository itemRepository,
+                          MeterRegistry meterRegistry) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
-    }
-
-    private Long bookingId = 0L;
-
-    private Long generateBookingId() {
-        return ++bookingId;
+        this.meterRegistry = meterRegistry;
     }
 
     public Booking createBooking(Long userId, BookingDtoIn bookingDtoIn) {
@@ -51,7 +68,7 @@ public class BookingService {
                 .orElseThrow(() -> new ValidationException(HttpStatus.NOT_FOUND,
                         "Не найден пользователь с id " + userId));
         Long itemId = bookingDtoIn.getItemId();
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findWithOwnerAndRequestById(itemId)
                 .orElseThrow(() -> new ValidationException(HttpStatus.NOT_FOUND,
                         "Не найден предмет с id " + itemId));
         if (!item.getAvailable()) {
@@ -65,12 +82,62 @@ public class BookingService {
         }
         bookingDtoIn.setStatus(BookingStatus.WAITING);
 
-        Booking booking = BookingMapper.toBooking(generateBookingId(), booker, item, bookingDtoIn);
+        Booking booking = BookingMapper.toBooking(null, booker, item, bookingDtoIn);
 
-        return bookingRepository.save(booking);
+        return saveReserved(booking);
+    }
+
+    private Booking saveReserved(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        try {
+            return bookingRepository.saveIfItemFree(booking)
+                    .orElseThrow(() -> bookingConflict(itemId));
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw bookingConflict(itemId);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return false;
+        }
+        ConstraintViolationException violation = (ConstraintViolationException) e.getCause();
+        return EXCLUSION_VIOLATION_STATE.equals(violation.getSQLState())
+                || OVERLAP_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
+    }
+
+    private ValidationException bookingConflict(Long itemId) {
+        meterRegistry.counter("shareit.bookings.conflicts", "reason", "overlap").increment();
+        return new ValidationException(HttpStatus.CONFLICT,
+                "Предмет с id " + itemId + " уже забронирован на эти даты.");
     }
 
     public Booking approveBooking(Long ownerId, Long bookingId, boolean approved) {
+        BookingStatus newStatus = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        for (int attempt = 1; ; attempt++) {
+            if (bookingRepository.updateStatusByOwner(bookingId, ownerId, newStatus, BookingStatus.WAITING) == 1) {
+                return bookingRepository.findById(bookingId)
+                        .orElseThrow(() -> new ValidationException(HttpStatus.NOT_FOUND,
+                                "Не найдено бронирование с id " + bookingId));
+            }
+            try {
+                return changeStatus(ownerId, bookingId, approved);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt == APPROVE_ATTEMPTS) {
+                    meterRegistry.counter("shareit.bookings.conflicts", "reason", "concurrent-update").increment();
+                    throw new ValidationException(HttpStatus.CONFLICT,
+                            "Бронирование с id " + bookingId + " изменено другим запросом, повторите попытку.");
+                }
+                meterRegistry.counter("shareit.bookings.approve.retries").increment();
+                log.debug("Повтор изменения статуса бронирования {}, попытка {}", bookingId, attempt + 1);
+            }
+        }
+    }
+
+    private Booking changeStatus(Long ownerId, Long bookingId, boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ValidationException(HttpStatus.NOT_FOUND,
                         "Не найдено бронирование с id " + bookingId));
@@ -85,6 +152,9 @@ public class BookingService {
                 throw new ValidationException(HttpStatus.BAD_REQUEST,
                         "Бронирование с id " + bookingId + " уже подтверждено.");
             }
+            if (booking.getStatus().equals(BookingStatus.REJECTED)) {
+                return approveRejected(booking);
+            }
             booking.setStatus(BookingStatus.APPROVED);
         }
         if (!approved) {
@@ -95,7 +165,72 @@ public class BookingService {
             booking.setStatus(BookingStatus.REJECTED);
         }
 
-        return bookingRepository.save(booking);
+        // save() merges into a new persistence context whose associations are lazy, so read the fetch plan again
+        bookingRepository.save(booking);
+        return bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ValidationException(HttpStatus.NOT_FOUND,
+                        "Не найдено бронирование с id " + bookingId));
+    }
+
+    private Booking approveRejected(Booking booking) {
+        Long bookingId = booking.getId();
+        Long itemId = booking.getItem().getId();
+        int updated;
+        try {
+            updated = bookingRepository.updateStatusIfItemFree(bookingId, booking.getVersion(),
+                    BookingStatus.APPROVED, BookingStatus.REJECTED, ACTIVE_STATUSES);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw bookingConflict(itemId);
+            }
+            throw e;
+        }
+        Booking current = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ValidationException(HttpStatus.NOT_FOUND,
+                        "Не найдено бронирование с id " + bookingId));
+        if (updated == 1) {
+            return current;
+        }
+        if (current.getVersion() != booking.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Booking.class, bookingId);
+        }
+        throw bookingConflict(itemId);
+    }
+
+    public List<AvailabilitySlotDto> getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        validateUserExists(userId);
+        if (!itemRepository.existsById(itemId)) {
+            throw new ValidationException(HttpStatus.NOT_FOUND, "Не найден предмет с id " + itemId);
+        }
+        LocalDateTime dateTimeNow = LocalDateTime.now();
+        LocalDateTime periodStart = from == null || from.isBefore(dateTimeNow) ? dateTimeNow : from;
+        LocalDateTime periodEnd = to == null ? periodStart.plusDays(AVAILABILITY_DEFAULT_DAYS) : to;
+        if (!periodEnd.isAfter(periodStart)) {
+            throw new ValidationException(HttpStatus.BAD_REQUEST, "Конец периода раньше начала.");
+        }
+        if (periodEnd.isAfter(periodStart.plusDays(AVAILABILITY_MAX_DAYS))) {
+            throw new ValidationException(HttpStatus.BAD_REQUEST,
+                    "Период не может быть длиннее " + AVAILABILITY_MAX_DAYS + " дней.");
+        }
+
+        List<AvailabilitySlotDto> slots = new ArrayList<>();
+        LocalDateTime cursor = periodStart;
+        for (BookingDtoShort busy : bookingRepository.findActiveBookingsByItemIdBetween(itemId, periodStart, periodEnd)) {
+            LocalDateTime busyStart = busy.getStartDate().isAfter(cursor) ? busy.getStartDate() : cursor;
+            LocalDateTime busyEnd = busy.getEndDate().isBefore(periodEnd) ? busy.getEndDate() : periodEnd;
+            if (!busyEnd.isAfter(busyStart)) {
+                continue;
+            }
+            if (busyStart.isAfter(cursor)) {
+                slots.add(new AvailabilitySlotDto(cursor, busyStart, true));
+            }
+            slots.add(new AvailabilitySlotDto(busyStart, busyEnd, false));
+            cursor = busyEnd;
+        }
+        if (periodEnd.isAfter(cursor)) {
+            slots.add(new AvailabilitySlotDto(cursor, periodEnd, true));
+        }
+        return slots;
     }
 
     public Booking getBookingById(Long userId, Long bookingId) {
@@ -113,12 +248,10 @@ public class BookingService {
         return booking;
     }
 
-    public Collection<Booking> getBookingsByUser(Long userId, State state, PageRequest pageRequest) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new ValidationException(HttpStatus.NOT_FOUND,
-                        "Не найден пользователь с id " + userId));
+    public Collection<BookingDtoOut> getBookingsByUser(Long userId, State state, PageRequest pageRequest) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         LocalDateTime dateTimeNow = LocalDateTime.now();
-        Page<Booking> bookingCollection = null;
+        Page<BookingDtoOut> bookingCollection = null;
 
         switch (state) {
             case ALL: bookingCollection = bookingRepository.getAllBookingsByUser(userId, pageRequest);
@@ -136,15 +269,17 @@ public class BookingService {
                 bookingCollection = bookingRepository.getWaitingRejectedBookingsByBooker(userId, BookingStatus.REJECTED, pageRequest);
                 break;
         }
+        if (bookingCollection.isEmpty()) {
+            validateUserExists(userId);
+        }
+        sample.stop(bookingListTimer("booker", state, "offset"));
         return bookingCollection.getContent();
     }
 
-    public Collection<Booking> getBookingsByOwner(Long ownerId, State state, PageRequest pageRequest) {
-        userRepository.findById(ownerId)
-                .orElseThrow(() -> new ValidationException(HttpStatus.NOT_FOUND,
-                        "Не найден пользователь с id " + ownerId));
+    public Collection<BookingDtoOut> getBookingsByOwner(Long ownerId, State state, PageRequest pageRequest) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         LocalDateTime dateTimeNow = LocalDateTime.now();
-        Page<Booking> bookingCollection = null;
+        Page<BookingDtoOut> bookingCollection = null;
 
         switch (state) {
             case ALL: bookingCollection = bookingRepository.getAllBookingsByOwner(ownerId, pageRequest);
@@ -162,9 +297,101 @@ public class BookingService {
                 bookingCollection = bookingRepository.getWaitingRejectedBookingsByOwner(ownerId, BookingStatus.REJECTED, pageRequest);
                 break;
         }
+        if (bookingCollection.isEmpty()) {
+            validateUserExists(ownerId);
+        }
+        sample.stop(bookingListTimer("owner", state, "offset"));
         return bookingCollection.getContent();
     }
 
+    public Slice<BookingDtoOut> getBookingsByUser(Long userId, State state, BookingCursor cursor, int size) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime dateTimeNow = LocalDateTime.now();
+        LocalDateTime position = cursor.getPosition();
+        Long id = cursor.getId();
+        PageRequest pageRequest = PageRequest.of(0, size);
+        Slice<BookingDtoOut> bookingSlice = null;
+
+        switch (state) {
+            case ALL: bookingSlice = bookingRepository.getAllBookingsByUserAfter(userId, position, id, pageRequest);
+                break;
+            case CURRENT:
+                bookingSlice = bookingRepository.getCurrentBookingsByUserAfter(userId, position, id, dateTimeNow, pageRequest);
+                break;
+            case PAST:
+                bookingSlice = bookingRepository.getPastBookingsByUserAfter(userId, position, id, dateTimeNow, pageRequest);
+                break;
+            case FUTURE:
+                bookingSlice = bookingRepository.getFutureBookingsByUserAfter(userId, position, id, dateTimeNow, pageRequest);
+                break;
+            case WAITING:
+                bookingSlice = bookingRepository.getWaitingRejectedBookingsByBookerAfter(userId, position, id,
+                        BookingStatus.WAITING, pageRequest);
+                break;
+            case REJECTED:
+                bookingSlice = bookingRepository.getWaitingRejectedBookingsByBookerAfter(userId, position, id,
+                        BookingStatus.REJECTED, pageRequest);
+                break;
+        }
+        if (!bookingSlice.hasContent()) {
+            validateUserExists(userId);
+        }
+        sample.stop(bookingListTimer("booker", state, "keyset"));
+        return bookingSlice;
+    }
+
+    public Slice<BookingDtoOut> getBookingsByOwner(Long ownerId, State state, BookingCursor cursor, int size) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime dateTimeNow = LocalDateTime.now();
+        LocalDateTime position = cursor.getPosition();
+        Long id = cursor.getId();
+        PageRequest pageRequest = PageRequest.of(0, size);
+        Slice<BookingDtoOut> bookingSlice = null;
+
+        switch (state) {
+            case ALL: bookingSlice = bookingRepository.getAllBookingsByOwnerAfter(ownerId, position, id, pageRequest);
+                break;
+            case CURRENT:
+                bookingSlice = bookingRepository.getCurrentBookingsByOwnerAfter(ownerId, position, id, dateTimeNow, pageRequest);
+                break;
+            case PAST:
+                bookingSlice = bookingRepository.getPastBookingsByOwnerAfter(ownerId, position, id, dateTimeNow, pageRequest);
+                break;
+            case FUTURE:
+                bookingSlice = bookingRepository.getFutureBookingsByOwnerAfter(ownerId, position, id, dateTimeNow, pageRequest);
+                break;
+            case WAITING:
+                bookingSlice = bookingRepository.getWaitingRejectedBookingsByOwnerAfter(ownerId, position, id,
+                        BookingStatus.WAITING, pageRequest);
+                break;
+            case REJECTED:
+                bookingSlice = bookingRepository.getWaitingRejectedBookingsByOwnerAfter(ownerId, position, id,
+                        BookingStatus.REJECTED, pageRequest);
+                break;
+        }
+        if (!bookingSlice.hasContent()) {
+            validateUserExists(ownerId);
+        }
+        sample.stop(bookingListTimer("owner", state, "keyset"));
+        return bookingSlice;
+    }
+
+    private Timer bookingListTimer(String role, State state, String pagination) {
+        return Timer.builder("shareit.bookings.list")
+                .tag("role", role)
+                .tag("state", state.name())
+                .tag("pagination", pagination)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void validateUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ValidationException(HttpStatus.NOT_FOUND,
+                    "Не найден пользователь с id " + userId);
+        }
+    }
+
     public void validateDate(BookingDtoIn bookingDtoIn) {
         if (bookingDtoIn.getStart().compareTo(bookingDtoIn.getEnd()) > 0) {
             throw new ValidationException(HttpStatus.BAD_REQUEST,
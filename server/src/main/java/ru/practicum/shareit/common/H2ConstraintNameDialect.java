@@ -0,0 +1,23 @@
+package ru.practicum.shareit.common;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.exception.spi.ViolatedConstraintNameExtracter;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class H2ConstraintNameDialect extends H2Dialect {
+    // H2 2.x reports violations as: ... violation: "PUBLIC.NAME ON PUBLIC.TABLE(...)" or "NAME: PUBLIC.TABLE ..."
+    private static final Pattern CONSTRAINT_NAME = Pattern.compile("violation: \"(?:\\w+\\.)?(\\w+)");
+
+    @Override
+    public ViolatedConstraintNameExtracter getViolatedConstraintNameExtracter() {
+        return e -> {
+            if (e.getSQLState() == null || !e.getSQLState().startsWith("23") || e.getMessage() == null) {
+                return null;
+            }
+            Matcher matcher = CONSTRAINT_NAME.matcher(e.getMessage());
+            return matcher.find() ? matcher.group(1) : null;
+        };
+    }
+}
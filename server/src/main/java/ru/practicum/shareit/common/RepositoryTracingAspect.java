@@ -0,0 +1,41 @@
+package ru.practicum.shareit.common;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+public class RepositoryTracingAspect {
+    private final Tracer tracer;
+
+    @Autowired
+    public RepositoryTracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (tracer.currentSpan() == null) {
+            return joinPoint.proceed();
+        }
+        Class<?> repository = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis())[0];
+        Span span = tracer.nextSpan()
+                .name(repository.getSimpleName() + "." + joinPoint.getSignature().getName())
+                .tag("db.repository", repository.getSimpleName())
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.common;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolver;
+
+public class ShareItDialectResolver implements DialectResolver {
+
+    @Override
+    public Dialect resolveDialect(DialectResolutionInfo info) {
+        if ("H2".equals(info.getDatabaseName())) {
+            return new H2ConstraintNameDialect();
+        }
+        return null;
+    }
+}
@@ -3,7 +3,10 @@ package ru.practicum.shareit.item.controller;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDtoIn;
 import ru.practicum.shareit.item.dto.CommentDtoOut;
 import ru.practicum.shareit.item.dto.ItemByIdDto;
@@ -11,6 +14,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 @Slf4j
@@ -20,10 +24,12 @@ public class ItemController {
 
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
     private final ItemService itemService;
+    private final BookingService bookingService;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, BookingService bookingService) {
         this.itemService = itemService;
+        this.bookingService = bookingService;
     }
 
     @PostMapping
@@ -57,6 +63,19 @@ public class ItemController {
         return itemService.getItemById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Collection<AvailabilitySlotDto> getItemAvailability(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                              @PathVariable Long itemId,
+                                                              @RequestParam(required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                              LocalDateTime from,
+                                                              @RequestParam(required = false)
+                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                              LocalDateTime to) {
+        log.info("Получен запрос к эндпоинту GET/items/{}/availability от userId={}", itemId, userId);
+        return bookingService.getItemAvailability(userId, itemId, from, to);
+    }
+
     @GetMapping
     public Collection<ItemByIdDto> getAllItems(@RequestHeader(USER_ID_HEADER) Long userId,
                                                @RequestParam(defaultValue = "0") Integer from,
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.Collection;
+import java.util.List;
 
 @SuppressWarnings("checkstyle:Regexp")
 @Repository
@@ -13,9 +14,16 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     @Query("select c " +
             "from Comment c " +
+            "join fetch c.author " +
             "where (c.item.id = ?1) " +
-            "group by c.id " +
             "order by c.id desc")
     Collection<Comment> getAllCommentsByItem(Long itemId);
 
+    @Query("select c " +
+            "from Comment c " +
+            "join fetch c.author " +
+            "where c.item.id in ?1 " +
+            "order by c.id desc")
+    List<Comment> getAllCommentsByItems(Collection<Long> itemIds);
+
 }
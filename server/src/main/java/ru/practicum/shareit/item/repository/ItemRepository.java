@@ -2,27 +2,54 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
 import java.util.Collection;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @EntityGraph(attributePaths = {"owner", "itemRequest", "itemRequest.requester"})
+    Optional<Item> findWithOwnerAndRequestById(Long itemId);
+
+    @EntityGraph(attributePaths = {"owner", "itemRequest", "itemRequest.requester"})
     @Query("select i " +
             "from Item i " +
             "where i.owner.id = ?1 " +
-            "group by i.id " +
-            "order by count(distinct i.id) desc")
+            "order by i.id")
     Page<Item> getAllItemsByUser(Long userId, PageRequest pageRequest);
 
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
     @Query("select i " +
             "from Item i " +
             "where i.itemRequest.id = ?1 " +
-            "group by i.id " +
-            "order by count(distinct i.id) desc")
+            "order by i.id")
     Collection<Item> getAllItemsByRequest(Long requestId);
+
+    @Query("select i " +
+            "from Item i " +
+            "where i.itemRequest.id in ?1 " +
+            "order by i.id")
+    Collection<Item> getAllItemsByRequests(Collection<Long> requestIds);
+
+    @Query(value = "select i " +
+            "from Item i " +
+            "where i.available = true " +
+            "and (lower(i.name) like concat('%', lower(?1), '%') escape '\\' " +
+            "or lower(i.description) like concat('%', lower(?1), '%') escape '\\') " +
+            "order by case when lower(i.name) like concat('%', lower(?1), '%') escape '\\' then 0 else 1 end, i.id",
+            countQuery = "select count(i) " +
+            "from Item i " +
+            "where i.available = true " +
+            "and (lower(i.name) like concat('%', lower(?1), '%') escape '\\' " +
+            "or lower(i.description) like concat('%', lower(?1), '%') escape '\\')")
+    Page<Item> searchAvailableItems(String text, Pageable pageable);
 }
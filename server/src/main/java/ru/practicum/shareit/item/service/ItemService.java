@@ -1,13 +1,15 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.dto.BookingDtoItem;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -29,12 +31,15 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("checkstyle:Regexp")
 @Slf4j
 @Service
+@Timed(value = "shareit.service", histogram = true)
 public class ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
@@ -53,18 +58,6 @@ public class ItemService {
         this.itemRequestRepository = itemRequestRepository;
     }
 
-    private Long itemId = 0L;
-
-    public Long generateItemId() {
-        return ++itemId;
-    }
-
-    private Long commentId = 0L;
-
-    public Long generateCommentId() {
-        return ++commentId;
-    }
-
     public Comment createComment(Long authorId, Long itemId, CommentDtoIn commentDtoIn) {
         User author = userRepository.findById(authorId)
                 .orElseThrow(() -> new RuntimeException("Не найден пользователь с id " + authorId));
@@ -72,7 +65,7 @@ public class ItemService {
                 .orElseThrow(() -> new RuntimeException("Не найден предмет с id " + itemId));
         LocalDateTime dateTimeNow = LocalDateTime.now();
         validateComment(authorId, itemId, commentDtoIn, dateTimeNow);
-        Comment comment = new Comment(generateCommentId(), commentDtoIn.getText(), item, author, dateTimeNow);
+        Comment comment = new Comment(null, commentDtoIn.getText(), item, author, dateTimeNow);
         return commentRepository.save(comment);
     }
 
@@ -101,7 +94,7 @@ public class ItemService {
             itemRequest = itemRequestRepository.findById(itemRequestId)
                     .orElseThrow(() -> new RuntimeException("Не найден запрос с id " + itemRequestId));
         }
-        Item item = ItemMapper.toItem(generateItemId(), owner, itemDto, itemRequest);
+        Item item = ItemMapper.toItem(null, owner, itemDto, itemRequest);
         return itemRepository.save(item);
     }
 
@@ -161,18 +154,16 @@ public class ItemService {
     }
 
     public Collection<Item> searchItems(String text, PageRequest pageRequest) {
-        if (!text.isEmpty()) {
-            Page<Item> items = itemRepository.findAll(pageRequest);
-            return items.stream()
-                    .filter(item -> isContain(item.getName(), text) || isContain(item.getDescription(), text))
-                    .filter(Item::getAvailable)
-                    .collect(Collectors.toList());
-        }
-        return new ArrayList<>();
+        if (text.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemRepository.searchAvailableItems(escapeLike(text), pageRequest).getContent();
     }
 
-    private boolean isContain(String line, String text) {
-        return line.toLowerCase().contains(text.toLowerCase());
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 
     public ItemByIdDto getItemById(Long itemId, Long userId) {
@@ -180,17 +171,14 @@ public class ItemService {
                .orElseThrow(() -> new ValidationException(HttpStatus.NOT_FOUND,
                        "В базе нет предмета c id " + itemId));
         LocalDateTime dateTimeNow = LocalDateTime.now();
-        PageRequest pageRequestForLastBooking =
-                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "start"));
-        Page<Booking> lastBooking = bookingRepository.findLastBookingsByItemId(itemId, dateTimeNow, pageRequestForLastBooking);
+        PageRequest firstBooking = PageRequest.of(0, 1);
+        Slice<Booking> lastBooking = bookingRepository.findLastBookingsByItemId(itemId, dateTimeNow, firstBooking);
         BookingDtoItem lastBookingDto = null;
         if (!lastBooking.isEmpty()) {
             lastBookingDto = BookingMapper.toBookingDtoItem(lastBooking.stream().findFirst().get());
         }
 
-        PageRequest pageRequestForNextBooking =
-                PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "start"));
-        Page<Booking> nextBooking = bookingRepository.findNextBookingsByItemId(itemId, dateTimeNow, pageRequestForNextBooking);
+        Slice<Booking> nextBooking = bookingRepository.findNextBookingsByItemId(itemId, dateTimeNow, firstBooking);
         BookingDtoItem nextBookingDto = null;
         if (!nextBooking.isEmpty()) {
             nextBookingDto = BookingMapper.toBookingDtoItem(nextBooking.stream().findFirst().get());
@@ -207,10 +195,32 @@ public class ItemService {
     }
 
     public Collection<ItemByIdDto> getAllItemsByUser(Long userId, PageRequest pageRequest) {
-
         Page<Item> itemCollection = itemRepository.getAllItemsByUser(userId, pageRequest);
+        if (itemCollection.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Item> items = itemCollection.stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        LocalDateTime dateTimeNow = LocalDateTime.now();
+
+        Map<Long, BookingDtoItem> lastBookings = bookingRepository
+                .findLastBookingsByItemIds(items.keySet(), dateTimeNow).stream()
+                .collect(Collectors.toMap(BookingDtoShort::getItemId,
+                        booking -> BookingMapper.toBookingDtoItem(booking, items.get(booking.getItemId()))));
+        Map<Long, BookingDtoItem> nextBookings = bookingRepository
+                .findNextBookingsByItemIds(items.keySet(), dateTimeNow).stream()
+                .collect(Collectors.toMap(BookingDtoShort::getItemId,
+                        booking -> BookingMapper.toBookingDtoItem(booking, items.get(booking.getItemId()))));
+        Map<Long, List<CommentDtoOut>> comments = commentRepository.getAllCommentsByItems(items.keySet())
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(ItemMapper::toCommentDto, Collectors.toList())));
+
         return itemCollection.stream()
-                .map(item -> getItemById(item.getId(), userId))
+                .map(item -> ItemMapper.toItemByIdDto(item,
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
+                        comments.getOrDefault(item.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 
@@ -15,14 +15,12 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
     @Query("select ir " +
             "from ItemRequest ir " +
             "where ir.requester.id = ?1 " +
-            "group by ir.id " +
-            "order by count(distinct ir.id) desc")
+            "order by ir.created desc")
     Collection<ItemRequest> getAllItemRequestsByRequester(Long userId);
 
     @Query("select ir " +
             "from ItemRequest ir " +
             "where ir.requester.id <> ?1 " +
-            "group by ir.id " +
-            "order by count(distinct ir.id) desc")
+            "order by ir.created desc")
     Page<ItemRequest> findAllItemRequests(Long userId, Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.requests.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -18,11 +19,15 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(value = "shareit.service", histogram = true)
 public class ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
@@ -37,8 +42,6 @@ public class ItemRequestService {
         this.itemRepository = itemRepository;
     }
 
-    private Long itemRequestId = 0L;
-
     @SuppressWarnings("checkstyle:Regexp")
     public ItemRequest createItemRequest(Long userId, ItemRequestDtoIn itemRequestDtoIn) {
         User user = getUser(userId);
@@ -46,14 +49,13 @@ public class ItemRequestService {
         validateItemRequest(itemRequestDtoIn);
         LocalDateTime dateTimeNow = LocalDateTime.now();
 
-        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(generateItemRequestId(), user,
+        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(null, user,
                 itemRequestDtoIn, dateTimeNow);
         return itemRequestRepository.save(itemRequest);
     }
 
     public ItemRequestByIdDto getItemRequestById(Long requestId, Long userId) {
-        User user = getUser(userId);
-        validateUser(user, userId);
+        validateUserExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ValidationException(HttpStatus.NOT_FOUND,
                         "Не найден запрос c id " + requestId));
@@ -65,20 +67,35 @@ public class ItemRequestService {
     }
 
     public Collection<ItemRequestByIdDto> getAllItemRequestsByRequester(Long userId) {
-        User user = getUser(userId);
-        validateUser(user, userId);
         Collection<ItemRequest> itemRequestCollection = itemRequestRepository.getAllItemRequestsByRequester(userId);
-        return itemRequestCollection.stream()
-                .map(itemRequest -> getItemRequestById(itemRequest.getId(), userId))
-                .collect(Collectors.toList());
+        if (itemRequestCollection.isEmpty()) {
+            validateUserExists(userId);
+        }
+        return toItemRequestByIdDtoCollection(itemRequestCollection);
     }
 
     public Collection<ItemRequestByIdDto> getAllItemRequestsByPage(Long userId, PageRequest pageRequest) {
-        User user = getUser(userId);
-        validateUser(user, userId);
         Page<ItemRequest> itemRequestCollection = itemRequestRepository.findAllItemRequests(userId, pageRequest);
-        return itemRequestCollection.stream()
-                .map(itemRequest -> getItemRequestById(itemRequest.getId(), userId))
+        if (itemRequestCollection.isEmpty()) {
+            validateUserExists(userId);
+        }
+        return toItemRequestByIdDtoCollection(itemRequestCollection.getContent());
+    }
+
+    private Collection<ItemRequestByIdDto> toItemRequestByIdDtoCollection(Collection<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemsByRequest = itemRepository.getAllItemsByRequests(requestIds).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+
+        return itemRequests.stream()
+                .map(itemRequest -> ItemRequestMapper.toItemRequestByIdDto(itemRequest,
+                        itemsByRequest.getOrDefault(itemRequest.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 
@@ -94,6 +111,13 @@ public class ItemRequestService {
                 .orElseThrow(() -> new RuntimeException("Не найден пользователь с id " + userId));
     }
 
+    public void validateUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ValidationException(HttpStatus.NOT_FOUND,
+                    "В базе нет пользователя c id " + userId);
+        }
+    }
+
     public void validateUser(User user, Long userId) {
         if (userId == null) {
             throw new ValidationException(HttpStatus.NOT_FOUND,
@@ -104,8 +128,4 @@ public class ItemRequestService {
                     "В базе нет пользователя c id " + userId);
         }
     }
-
-    private Long generateItemRequestId() {
-        return ++itemRequestId;
-    }
 }
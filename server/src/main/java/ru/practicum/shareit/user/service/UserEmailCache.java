@@ -0,0 +1,51 @@
+package ru.practicum.shareit.user.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class UserEmailCache {
+    private final Map<String, Long> userIdsByEmail;
+    private final Map<Long, String> emailsByUserId = new HashMap<>();
+
+    public UserEmailCache(int maxSize) {
+        this.userIdsByEmail = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() > maxSize) {
+                    emailsByUserId.remove(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Long getUserId(String email) {
+        return userIdsByEmail.get(normalize(email));
+    }
+
+    public synchronized void put(String email, Long userId) {
+        String key = normalize(email);
+        String previousEmail = emailsByUserId.put(userId, key);
+        if (previousEmail != null && !previousEmail.equals(key)) {
+            userIdsByEmail.remove(previousEmail);
+        }
+        Long previousUserId = userIdsByEmail.put(key, userId);
+        if (previousUserId != null && !previousUserId.equals(userId)) {
+            emailsByUserId.remove(previousUserId);
+        }
+    }
+
+    public synchronized void evict(Long userId) {
+        String email = emailsByUserId.remove(userId);
+        if (email != null) {
+            userIdsByEmail.remove(email);
+        }
+    }
+
+    private String normalize(String email) {
+        return email.toUpperCase(Locale.ROOT);
+    }
+}
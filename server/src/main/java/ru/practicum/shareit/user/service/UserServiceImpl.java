@@ -1,7 +1,10 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exeption.ValidationException;
@@ -15,9 +18,14 @@ import java.util.List;
 
 @Slf4j
 @Service
+@Timed(value = "shareit.service", histogram = true)
 public class UserServiceImpl implements UserService {
+    private static final int EMAIL_CACHE_SIZE = 10_000;
+    private static final String EMAIL_CONSTRAINT = "UQ_USER_EMAIL_UPPER";
+
     private final UserRepository userRepository;
     private final ValidationUser validationUser;
+    private final UserEmailCache emailCache = new UserEmailCache(EMAIL_CACHE_SIZE);
 
     @Autowired
     public UserServiceImpl(UserRepository userRepository, ValidationUser validationUser) {
@@ -30,8 +38,10 @@ public class UserServiceImpl implements UserService {
         User user = UserMapper.toUser(userDto);
         validationUser.validateUserEmail(user);
         validateUserByEmail(user);
-        log.info("Пользователь с id " + user.getId() + " успешно создан.");
-        return userRepository.save(user);
+        User savedUser = saveUser(user);
+        emailCache.put(savedUser.getEmail(), savedUser.getId());
+        log.info("Пользователь с id " + savedUser.getId() + " успешно создан.");
+        return savedUser;
     }
 
     @Override
@@ -50,8 +60,10 @@ public class UserServiceImpl implements UserService {
             user.setName(getUserById(userId).getName());
         }
 
+        User savedUser = saveUser(user);
+        emailCache.put(savedUser.getEmail(), savedUser.getId());
         log.info("Пользователь с id " + user.getId() + " успешно обновлен.");
-        return userRepository.save(user);
+        return savedUser;
     }
 
     @Override
@@ -72,20 +84,49 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long userId) {
         validateUser(userId);
         log.info("Пользователь c id " + userId + " найден в базе.");
+        emailCache.evict(userId);
         userRepository.deleteById(userId);
     }
 
     public void validateUser(Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new ValidationException(HttpStatus.NOT_FOUND,
-                        "В базе нет пользователя c id " + userId));
+        if (!userRepository.existsById(userId)) {
+            throw new ValidationException(HttpStatus.NOT_FOUND,
+                    "В базе нет пользователя c id " + userId);
+        }
     }
 
     public void validateUserByEmail(User user) {
-        if (userRepository.findAll().contains(user.getEmail())) {
-                throw new ValidationException(HttpStatus.CONFLICT, "Пользователь c e-mail " + user.getEmail()
-                        + " уже есть в базе .");
+        Long cachedUserId = emailCache.getUserId(user.getEmail());
+        if (cachedUserId == null || cachedUserId.equals(user.getId())) {
+            return;
+        }
+        boolean emailTaken;
+        if (user.getId() == null) {
+            emailTaken = userRepository.existsByEmailIgnoreCase(user.getEmail());
+        } else {
+            emailTaken = userRepository.existsByEmailIgnoreCaseAndIdNot(user.getEmail(), user.getId());
+        }
+        if (emailTaken) {
+            throw emailConflict(user);
         }
+        emailCache.evict(cachedUserId);
+    }
+
+    private User saveUser(User user) {
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException
+                    && EMAIL_CONSTRAINT.equalsIgnoreCase(((ConstraintViolationException) e.getCause()).getConstraintName())) {
+                throw emailConflict(user);
+            }
+            throw e;
+        }
+    }
+
+    private ValidationException emailConflict(User user) {
+        return new ValidationException(HttpStatus.CONFLICT, "Пользователь c e-mail " + user.getEmail()
+                + " уже есть в базе .");
     }
 
 }
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS IDX_BOOKING_BOOKER_START ON bookings (booker_id, start_date DESC);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS IDX_BOOKING_ITEM_END ON bookings (item_id, end_date);
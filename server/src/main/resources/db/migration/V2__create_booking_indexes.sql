@@ -0,0 +1,11 @@
+CREATE INDEX IF NOT EXISTS IDX_BOOKING_BOOKER_END ON bookings (booker_id, end_date DESC);
+
+CREATE INDEX IF NOT EXISTS IDX_BOOKING_ITEM_START ON bookings (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS IDX_BOOKING_ITEM_BOOKER_END ON bookings (item_id, booker_id, end_date);
+
+CREATE INDEX IF NOT EXISTS IDX_ITEM_REQUEST ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS IDX_COMMENT_ITEM ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS IDX_ITEM_REQUEST_REQUESTER_CREATED ON item_requests (requester_id, created);
@@ -0,0 +1,9 @@
+CREATE SEQUENCE IF NOT EXISTS seq_users START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS seq_item_requests START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS seq_items START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS seq_bookings START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS seq_comments START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,19 @@
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY;
+
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT nextval('seq_users');
+
+ALTER TABLE item_requests ALTER COLUMN item_requests_id DROP IDENTITY;
+
+ALTER TABLE item_requests ALTER COLUMN item_requests_id SET DEFAULT nextval('seq_item_requests');
+
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY;
+
+ALTER TABLE items ALTER COLUMN item_id SET DEFAULT nextval('seq_items');
+
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY;
+
+ALTER TABLE bookings ALTER COLUMN booking_id SET DEFAULT nextval('seq_bookings');
+
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY;
+
+ALTER TABLE comments ALTER COLUMN comment_id SET DEFAULT nextval('seq_comments');
@@ -0,0 +1,139 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.requests.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LazyAssociationJsonTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+    private ItemRequest itemRequest;
+    private Item item;
+    private Booking pastBooking;
+    private Booking nextBooking;
+    private Booking rejectedBooking;
+
+    @BeforeEach
+    void beforeEach() {
+        LocalDateTime dateTimeNow = LocalDateTime.now();
+        owner = userRepository.save(new User(null, "owner", "owner@user.com"));
+        booker = userRepository.save(new User(null, "booker", "booker@user.com"));
+        itemRequest = itemRequestRepository.save(new ItemRequest(null, "need a drill", booker, dateTimeNow));
+        item = itemRepository.save(new Item(null, "drill", "cordless drill", true, owner, itemRequest));
+        pastBooking = bookingRepository.save(new Booking(null, dateTimeNow.minusDays(3), dateTimeNow.minusDays(2),
+                item, booker, BookingStatus.APPROVED));
+        nextBooking = bookingRepository.save(new Booking(null, dateTimeNow.plusDays(2), dateTimeNow.plusDays(3),
+                item, booker, BookingStatus.WAITING));
+        rejectedBooking = bookingRepository.save(new Booking(null, dateTimeNow.plusDays(5), dateTimeNow.plusDays(6),
+                item, booker, BookingStatus.REJECTED));
+    }
+
+    @AfterEach
+    void afterEach() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testGetBookingByIdWritesItemAssociations() throws Exception {
+        assertFullItem(mockMvc.perform(get("/bookings/{bookingId}", pastBooking.getId())
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk()), "$.item")
+                .andExpect(jsonPath("$.booker.email", is(booker.getEmail())));
+    }
+
+    @Test
+    void testCreateBookingWritesItemAssociations() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+        assertFullItem(mockMvc.perform(post("/bookings")
+                        .header(USER_ID_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemId\":" + item.getId() + ",\"start\":\"" + start + "\",\"end\":\""
+                                + start.plusDays(1) + "\"}"))
+                .andExpect(status().isOk()), "$.item");
+    }
+
+    @Test
+    void testApproveBookingWritesItemAssociations() throws Exception {
+        assertFullItem(mockMvc.perform(patch("/bookings/{bookingId}", nextBooking.getId())
+                        .header(USER_ID_HEADER, owner.getId())
+                        .param("approved", "true"))
+                .andExpect(status().isOk()), "$.item");
+        assertFullItem(mockMvc.perform(patch("/bookings/{bookingId}", rejectedBooking.getId())
+                        .header(USER_ID_HEADER, owner.getId())
+                        .param("approved", "true"))
+                .andExpect(status().isOk()), "$.item");
+        assertFullItem(mockMvc.perform(patch("/bookings/{bookingId}", rejectedBooking.getId())
+                        .header(USER_ID_HEADER, owner.getId())
+                        .param("approved", "false"))
+                .andExpect(status().isOk()), "$.item");
+    }
+
+    @Test
+    void testGetItemByIdWritesBookingItemAssociations() throws Exception {
+        ResultActions result = mockMvc.perform(get("/items/{itemId}", item.getId())
+                        .header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+        assertFullItem(result, "$.lastBooking.item");
+        assertFullItem(result, "$.nextBooking.item");
+    }
+
+    @Test
+    void testGetAllItemsWritesBookingItemAssociations() throws Exception {
+        ResultActions result = mockMvc.perform(get("/items")
+                        .header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+        assertFullItem(result, "$[0].lastBooking.item");
+        assertFullItem(result, "$[0].nextBooking.item");
+    }
+
+    private ResultActions assertFullItem(ResultActions result, String itemPath) throws Exception {
+        return result
+                .andExpect(jsonPath(itemPath + ".name", is(item.getName())))
+                .andExpect(jsonPath(itemPath + ".owner.name", is(owner.getName())))
+                .andExpect(jsonPath(itemPath + ".owner.email", is(owner.getEmail())))
+                .andExpect(jsonPath(itemPath + ".itemRequest.description", is(itemRequest.getDescription())))
+                .andExpect(jsonPath(itemPath + ".itemRequest.requester.name", is(booker.getName())));
+    }
+}
@@ -0,0 +1,185 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.requests.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class StatementCountTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private Statistics statistics;
+
+    private User owner;
+    private User booker;
+    private ItemRequest itemRequest;
+    private Item item;
+    private Booking pastBooking;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LocalDateTime dateTimeNow = LocalDateTime.now();
+
+        owner = userRepository.save(new User(null, "owner", "owner@user.com"));
+        booker = userRepository.save(new User(null, "booker", "booker@user.com"));
+        itemRequest = itemRequestRepository.save(new ItemRequest(null, "request", booker, dateTimeNow));
+        item = itemRepository.save(new Item(null, "drill", "cordless drill", true, owner, itemRequest));
+        pastBooking = bookingRepository.save(new Booking(null, dateTimeNow.minusDays(3), dateTimeNow.minusDays(2),
+                item, booker, BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, dateTimeNow.plusDays(2), dateTimeNow.plusDays(3),
+                item, booker, BookingStatus.WAITING));
+        commentRepository.save(new Comment(null, "good drill", item, booker, dateTimeNow));
+
+        statistics.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testGetBookingById() throws Exception {
+        mockMvc.perform(get("/bookings/{bookingId}", pastBooking.getId())
+                        .header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.owner.name", is(owner.getName())))
+                .andExpect(jsonPath("$.booker.name", is(booker.getName())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetBookingsByUser() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetBookingsByUserWithoutBookings() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, booker.getId() + 100))
+                .andExpect(status().isNotFound());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetItemById() throws Exception {
+        mockMvc.perform(get("/items/{itemId}", item.getId())
+                        .header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastBooking.id", is(pastBooking.getId().intValue())))
+                .andExpect(jsonPath("$.comments[0].authorName", is(booker.getName())));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetAllItemsByUser() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].comments", hasSize(1)));
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSearchItems() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].requestId", is(itemRequest.getId().intValue())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetItemRequestById() throws Exception {
+        mockMvc.perform(get("/requests/{requestId}", itemRequest.getId())
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)));
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/requests/{requestId}", itemRequest.getId())
+                        .header(USER_ID_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)));
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void testSecondLevelCacheMetrics() throws Exception {
+        mockMvc.perform(get("/users/{userId}", owner.getId()))
+                .andExpect(status().isOk());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests")
+                        .param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value", greaterThan(0.0)));
+        mockMvc.perform(get("/actuator/metrics/cache.gets")
+                        .param("tag", "cache:" + User.class.getName())
+                        .param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value", greaterThan(0.0)));
+    }
+}
@@ -11,11 +11,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -40,6 +43,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -167,7 +171,7 @@ class BookingControllerTest {
     @Test
     void testGetBookingsByUser() throws Exception {
         when(bookingService.getBookingsByUser(anyLong(), any(State.class), any(PageRequest.class)))
-                .thenReturn(List.of(bookingByUser1));
+                .thenReturn(List.of(BookingMapper.toBookingDtoOut(bookingByUser1)));
 
         mockMvc.perform(mockAction(get("/bookings/?state=ALL"), user2.getId(), bookingDtoIn))
                 .andExpect(status().isOk())
@@ -179,7 +183,7 @@ class BookingControllerTest {
 
         String unknownState = "UnknownState";
         UnknownStateException unknownStateException = Assertions.assertThrows(UnknownStateException.class,
-                () -> bookingController.getBookingsByUser(24L, unknownState, from, size));
+                () -> bookingController.getBookingsByUser(24L, unknownState, from, size, null, null));
         assertEquals("Unknown state: UnknownState",
                 unknownStateException.getMessage());
     }
@@ -187,7 +191,7 @@ class BookingControllerTest {
     @Test
     void testGetBookingsByOwner() throws Exception {
         when(bookingService.getBookingsByOwner(anyLong(), any(State.class), any(PageRequest.class)))
-                .thenReturn(List.of(bookingByUser1));
+                .thenReturn(List.of(BookingMapper.toBookingDtoOut(bookingByUser1)));
 
         mockMvc.perform(mockAction(get("/bookings/owner?state=ALL"),user.getId(), bookingDtoIn))
                 .andExpect(status().isOk())
@@ -198,6 +202,58 @@ class BookingControllerTest {
                 .getBookingsByOwner(anyLong(), any(State.class), any(PageRequest.class));
     }
 
+    @Test
+    void testGetBookingsByUserWithCursor() throws Exception {
+        when(bookingService.getBookingsByUser(anyLong(), any(State.class), any(BookingCursor.class), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(BookingMapper.toBookingDtoOut(bookingByUser1)), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(mockAction(get("/bookings?state=ALL&size=1&cursor="), user2.getId(), bookingDtoIn))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("X-Next-Cursor", "end_2023-09-11T12:00_1"));
+
+        Mockito.verify(bookingService, times(1))
+                .getBookingsByUser(anyLong(), any(State.class), eq(BookingCursor.FIRST), eq(1));
+
+        mockMvc.perform(mockAction(get("/bookings?state=ALL&cursor=broken"), user2.getId(), bookingDtoIn))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(mockAction(get("/bookings?state=FUTURE&cursor=end_2023-09-11T12:00_1"), user2.getId(),
+                        bookingDtoIn))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetFutureBookingsByUserWithCursor() throws Exception {
+        when(bookingService.getBookingsByUser(anyLong(), any(State.class), any(BookingCursor.class), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(BookingMapper.toBookingDtoOut(bookingByUser1)), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(mockAction(get("/bookings?state=FUTURE&size=1&cursor=start_2023-09-10T12:00_7"),
+                        user2.getId(), bookingDtoIn))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor",
+                        "start_" + bookingByUser1.getStart() + "_" + bookingByUser1.getId()));
+
+        Mockito.verify(bookingService, times(1))
+                .getBookingsByUser(anyLong(), eq(State.FUTURE), eq(new BookingCursor(BookingCursor.SortKey.START,
+                        LocalDateTime.of(2023, 9, 10, 12, 0), 7L)), eq(1));
+    }
+
+    @Test
+    void testGetBookingsByOwnerWithCursor() throws Exception {
+        BookingCursor cursor = new BookingCursor(BookingCursor.SortKey.END, timeEndBooking1, 5L);
+        when(bookingService.getBookingsByOwner(anyLong(), any(State.class), any(BookingCursor.class), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(BookingMapper.toBookingDtoOut(bookingByUser1)), PageRequest.of(0, 20), false));
+
+        mockMvc.perform(mockAction(get("/bookings/owner?state=ALL&cursor=" + cursor.format()),
+                        user.getId(), bookingDtoIn))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        Mockito.verify(bookingService, times(1))
+                .getBookingsByOwner(anyLong(), any(State.class), eq(cursor), eq(20));
+    }
+
     public MockHttpServletRequestBuilder mockAction(MockHttpServletRequestBuilder mockMvc,
                                                     Long userId,
                                                     BookingDtoIn bookingDtoIn)
@@ -5,12 +5,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.SecondLevelCacheConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.requests.model.ItemRequest;
@@ -26,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @DataJpaTest
+@Import(SecondLevelCacheConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class BookingMapperTest {
 
@@ -135,6 +139,15 @@ class BookingMapperTest {
         assertEquals(1, bookingDto.getId());
     }
 
+    @Test
+    void testToBookingDtoOut() {
+        BookingDtoOut bookingDtoOut = bookingMapper.toBookingDtoOut(bookingByUser2);
+        assertNotNull(bookingDtoOut);
+        assertEquals(1, bookingDtoOut.getId());
+        assertEquals(item1.getName(), bookingDtoOut.getItem().getName());
+        assertEquals(user2.getId(), bookingDtoOut.getBooker().getId());
+    }
+
     @Test
     void testToBooking() {
         Booking booking = bookingMapper.toBooking(bookingDtoIn.getId(), user2, item1, bookingDtoIn);
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.common.SecondLevelCacheConfig;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingRepositoryConcurrencyTest {
+    private static final int BOOKERS = 8;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void testSaveIfItemFreeAcceptsOneOfConcurrentOverlappingBookings() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "owner@user.com"));
+        User booker = userRepository.save(new User(null, "booker", "booker@user.com"));
+        Item item = itemRepository.save(new Item(null, "item", "item description", true, owner, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Callable<Optional<Booking>>> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            LocalDateTime bookingStart = start.plusHours(i);
+            bookings.add(() -> {
+                ready.await();
+                return bookingRepository.saveIfItemFree(new Booking(null, bookingStart, bookingStart.plusDays(1),
+                        item, booker, BookingStatus.WAITING));
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        try {
+            List<Future<Optional<Booking>>> results = new ArrayList<>();
+            for (Callable<Optional<Booking>> booking : bookings) {
+                results.add(executor.submit(booking));
+            }
+            ready.countDown();
+            int saved = 0;
+            for (Future<Optional<Booking>> result : results) {
+                saved += result.get().isPresent() ? 1 : 0;
+            }
+
+            assertEquals(1, saved);
+            assertEquals(1, bookingRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -5,12 +5,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.common.SecondLevelCacheConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.requests.model.ItemRequest;
@@ -19,12 +26,19 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @DataJpaTest
+@Import(SecondLevelCacheConfig.class)
 class BookingRepositoryTest {
 
     @Autowired
@@ -129,7 +143,7 @@ class BookingRepositoryTest {
         bookingRepository.deleteAll();
     }
 
-    void assertCommonTest(Page<Booking> bookings, LocalDateTime timeStartBooking, int count) {
+    void assertCommonTest(Page<BookingDtoOut> bookings, LocalDateTime timeStartBooking, int count) {
         assertNotNull(bookings);
         assertEquals(count, bookings.getTotalElements());
         assertEquals(timeStartBooking, bookings.stream().findFirst().get().getStart());
@@ -137,14 +151,14 @@ class BookingRepositoryTest {
 
     @Test
     void testGetAllBookingsByUser() {
-        Page<Booking> allBookingsByUser = bookingRepository.getAllBookingsByUser(user1.getId(), pageRequest);
+        Page<BookingDtoOut> allBookingsByUser = bookingRepository.getAllBookingsByUser(user1.getId(), pageRequest);
         assertCommonTest(allBookingsByUser, timeStartBookingBookerRej, 3);
     }
 
     @Test
     void testGetCurrentBookingsByUser() {
         LocalDateTime currentTime = LocalDateTime.of(2023, 9, 10, 13, 0);
-        Page<Booking> currentBookingsByUser = bookingRepository.getCurrentBookingsByUser(user1.getId(), currentTime,
+        Page<BookingDtoOut> currentBookingsByUser = bookingRepository.getCurrentBookingsByUser(user1.getId(), currentTime,
                                              pageRequest);
         assertCommonTest(currentBookingsByUser, timeStartBooking1, 1);
     }
@@ -152,7 +166,7 @@ class BookingRepositoryTest {
     @Test
     void testGetPastBookingsByUser() {
         LocalDateTime currentTime = LocalDateTime.of(2023, 12, 20, 13, 0);
-        Page<Booking> pastBookingsByUser = bookingRepository.getPastBookingsByUser(user1.getId(), currentTime,
+        Page<BookingDtoOut> pastBookingsByUser = bookingRepository.getPastBookingsByUser(user1.getId(), currentTime,
                 pageRequest);
         assertCommonTest(pastBookingsByUser, timeStartBookingBookerRej, 3);
     }
@@ -160,21 +174,21 @@ class BookingRepositoryTest {
     @Test
     void testGetFutureBookingsByUser() {
         LocalDateTime currentTime = LocalDateTime.of(2023, 7, 20, 13, 0);
-        Page<Booking> futureBookingsByUser = bookingRepository.getFutureBookingsByUser(user1.getId(), currentTime,
+        Page<BookingDtoOut> futureBookingsByUser = bookingRepository.getFutureBookingsByUser(user1.getId(), currentTime,
                 pageRequest);
         assertCommonTest(futureBookingsByUser, timeStartBookingBookerRej, 3);
     }
 
     @Test
     void testGetAllBookingsByOwner() {
-        Page<Booking> allBookingsByOwner = bookingRepository.getAllBookingsByOwner(user1.getId(), pageRequest);
+        Page<BookingDtoOut> allBookingsByOwner = bookingRepository.getAllBookingsByOwner(user1.getId(), pageRequest);
         assertCommonTest(allBookingsByOwner, timeStartBookingOwnerRej, 3);
     }
 
     @Test
     void testGetCurrentBookingsByOwner() {
         LocalDateTime currentTime = LocalDateTime.of(2023, 10, 10, 13, 0);
-        Page<Booking> currentBookingsByOwner = bookingRepository.getCurrentBookingsByOwner(user1.getId(), currentTime,
+        Page<BookingDtoOut> currentBookingsByOwner = bookingRepository.getCurrentBookingsByOwner(user1.getId(), currentTime,
                 pageRequest);
         assertCommonTest(currentBookingsByOwner, timeStartBooking2, 1);
     }
@@ -182,7 +196,7 @@ class BookingRepositoryTest {
     @Test
     void testGetPastBookingsByOwner() {
         LocalDateTime currentTime = LocalDateTime.of(2023, 11, 23, 13, 0);
-        Page<Booking> pastBookingsByOwner = bookingRepository.getPastBookingsByOwner(user1.getId(), currentTime,
+        Page<BookingDtoOut> pastBookingsByOwner = bookingRepository.getPastBookingsByOwner(user1.getId(), currentTime,
                 pageRequest);
         assertCommonTest(pastBookingsByOwner, timeStartBookingOwnerRej, 3);
     }
@@ -190,7 +204,7 @@ class BookingRepositoryTest {
     @Test
     void testGetFutureBookingsByOwner() {
         LocalDateTime currentTime = LocalDateTime.of(2023, 8, 22, 12, 0);
-        Page<Booking> futureBookingsByOwner = bookingRepository.getFutureBookingsByOwner(user1.getId(), currentTime,
+        Page<BookingDtoOut> futureBookingsByOwner = bookingRepository.getFutureBookingsByOwner(user1.getId(), currentTime,
                 pageRequest);
         assertCommonTest(futureBookingsByOwner, timeStartBookingOwnerRej, 3);
     }
@@ -198,12 +212,12 @@ class BookingRepositoryTest {
     @Test
     void testGetWaitingRejectedBookingsByBooker() {
         BookingStatus bookingStatusWaiting = BookingStatus.WAITING;
-        Page<Booking> waitingBookingsByBooker =
+        Page<BookingDtoOut> waitingBookingsByBooker =
                 bookingRepository.getWaitingRejectedBookingsByBooker(user1.getId(), bookingStatusWaiting, pageRequest);
         assertCommonTest(waitingBookingsByBooker, timeStartBookingBookerWaiting, 1);
 
         BookingStatus bookingStatusRejected = BookingStatus.REJECTED;
-        Page<Booking> rejectedBookingsByBooker =
+        Page<BookingDtoOut> rejectedBookingsByBooker =
                 bookingRepository.getWaitingRejectedBookingsByBooker(user1.getId(), bookingStatusRejected, pageRequest);
         assertCommonTest(rejectedBookingsByBooker, timeStartBookingBookerRej, 1);
     }
@@ -211,26 +225,77 @@ class BookingRepositoryTest {
     @Test
     void testGetWaitingRejectedBookingsByOwner() {
         BookingStatus bookingStatusWaiting = BookingStatus.WAITING;
-        Page<Booking> waitingBookingsByOwner =
+        Page<BookingDtoOut> waitingBookingsByOwner =
                 bookingRepository.getWaitingRejectedBookingsByOwner(user1.getId(), bookingStatusWaiting, pageRequest);
         assertCommonTest(waitingBookingsByOwner, timeStartBookingOwnerWaiting, 1);
 
         BookingStatus bookingStatusRejected = BookingStatus.REJECTED;
-        Page<Booking> rejectedBookingsByOwner =
+        Page<BookingDtoOut> rejectedBookingsByOwner =
                 bookingRepository.getWaitingRejectedBookingsByOwner(user1.getId(), bookingStatusRejected, pageRequest);
         assertCommonTest(rejectedBookingsByOwner, timeStartBookingOwnerRej, 1);
     }
 
+    @Test
+    void testGetAllBookingsByUserAfter() {
+        BookingCursor cursor = BookingCursor.FIRST;
+        Slice<BookingDtoOut> firstSlice = bookingRepository.getAllBookingsByUserAfter(user1.getId(),
+                cursor.getPosition(), cursor.getId(), PageRequest.of(0, 2));
+        assertEquals(2, firstSlice.getContent().size());
+        assertTrue(firstSlice.hasNext());
+        assertEquals(timeStartBookingBookerRej, firstSlice.getContent().get(0).getStart());
+
+        cursor = BookingCursor.after(firstSlice.getContent().get(1), State.ALL);
+        Slice<BookingDtoOut> secondSlice = bookingRepository.getAllBookingsByUserAfter(user1.getId(),
+                cursor.getPosition(), cursor.getId(), PageRequest.of(0, 2));
+        assertEquals(1, secondSlice.getContent().size());
+        assertFalse(secondSlice.hasNext());
+        assertEquals(timeStartBooking1, secondSlice.getContent().get(0).getStart());
+    }
+
+    @Test
+    void testGetFutureBookingsByUserAfterKeepsOffsetOrder() {
+        LocalDateTime currentTime = LocalDateTime.of(2023, 9, 1, 0, 0);
+        List<BookingDtoOut> offsetOrder = bookingRepository.getFutureBookingsByUser(user1.getId(), currentTime,
+                pageRequest).getContent();
+        assertTrue(offsetOrder.size() > 1);
+
+        List<BookingDtoOut> keysetOrder = new ArrayList<>();
+        BookingCursor cursor = BookingCursor.FIRST;
+        Slice<BookingDtoOut> slice;
+        do {
+            slice = bookingRepository.getFutureBookingsByUserAfter(user1.getId(), cursor.getPosition(),
+                    cursor.getId(), currentTime, PageRequest.of(0, 1));
+            keysetOrder.addAll(slice.getContent());
+            if (slice.hasContent()) {
+                cursor = BookingCursor.after(slice.getContent().get(0), State.FUTURE);
+            }
+        } while (slice.hasNext());
+
+        assertEquals(offsetOrder.stream().map(BookingDtoOut::getId).collect(Collectors.toList()),
+                keysetOrder.stream().map(BookingDtoOut::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testGetWaitingRejectedBookingsByOwnerAfter() {
+        BookingCursor cursor = BookingCursor.FIRST;
+        Slice<BookingDtoOut> waitingBookings = bookingRepository.getWaitingRejectedBookingsByOwnerAfter(user1.getId(),
+                cursor.getPosition(), cursor.getId(), BookingStatus.WAITING, pageRequest);
+        assertEquals(1, waitingBookings.getContent().size());
+        assertEquals(timeStartBookingOwnerWaiting, waitingBookings.getContent().get(0).getStart());
+    }
+
     @Test
     void testFindLastBookingsByItemId() {
-        PageRequest pageRequestForLastBooking =
-                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "start"));
         LocalDateTime currentTime = LocalDateTime.of(2023, 9, 20, 13, 0);
-        Page<Booking> lastBookingsByItemId = bookingRepository.findLastBookingsByItemId(item2.getId(), currentTime,
-                                                                                  pageRequestForLastBooking);
+        bookingRepository.save(new Booking(null, timeStartBookingBookerWaiting.minusDays(3),
+                timeStartBookingBookerWaiting.minusDays(2), item2, user1, BookingStatus.APPROVED));
+        Slice<Booking> lastBookingsByItemId = bookingRepository.findLastBookingsByItemId(item2.getId(), currentTime,
+                                                                                  PageRequest.of(0, 1));
         assertNotNull(lastBookingsByItemId);
         assertEquals(2, lastBookingsByItemId.stream().findFirst().get().getItem().getId());
         assertEquals(timeStartBookingBookerWaiting, lastBookingsByItemId.stream().findFirst().get().getStart());
+        assertEquals(timeStartBookingBookerWaiting, bookingRepository.findLastBookingsByItemIds(List.of(item2.getId()),
+                currentTime).get(0).getStartDate());
     }
 
     @Test
@@ -238,13 +303,100 @@ class BookingRepositoryTest {
         PageRequest pageRequestForNextBooking =
                 PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "start"));
         LocalDateTime currentTime = LocalDateTime.of(2023, 9, 10, 13, 0);
-        Page<Booking> nextBookingsByItemId = bookingRepository.findNextBookingsByItemId(item2.getId(), currentTime,
+        Slice<Booking> nextBookingsByItemId = bookingRepository.findNextBookingsByItemId(item2.getId(), currentTime,
                                                                                   pageRequestForNextBooking);
         assertNotNull(nextBookingsByItemId);
         assertEquals(2, nextBookingsByItemId.stream().findFirst().get().getItem().getId());
         assertEquals(timeStartBookingBookerWaiting, nextBookingsByItemId.stream().findFirst().get().getStart());
     }
 
+    @Test
+    void testFindLastAndNextBookingsByItemIds() {
+        LocalDateTime currentTime = LocalDateTime.of(2023, 9, 25, 13, 0);
+        List<Long> itemIds = List.of(item1.getId(), item2.getId());
+
+        List<BookingDtoShort> lastBookings = bookingRepository.findLastBookingsByItemIds(itemIds, currentTime);
+        assertEquals(1, lastBookings.size());
+        assertEquals(item2.getId(), lastBookings.get(0).getItemId());
+        assertEquals(timeStartBookingBookerWaiting, lastBookings.get(0).getStartDate());
+        assertEquals(user1.getId(), lastBookings.get(0).getBookerId());
+
+        List<BookingDtoShort> nextBookings = bookingRepository.findNextBookingsByItemIds(itemIds, currentTime);
+        assertEquals(2, nextBookings.size());
+        BookingDtoShort nextForItem1 = nextBookings.stream()
+                .filter(booking -> booking.getItemId().equals(item1.getId()))
+                .findFirst().get();
+        assertEquals(timeStartBooking2, nextForItem1.getStartDate());
+        assertEquals(BookingStatus.APPROVED.name(), nextForItem1.getStatus());
+    }
+
+    @Test
+    void testFindActiveBookingsByItemIdBetween() {
+        List<BookingDtoShort> activeBookings = bookingRepository.findActiveBookingsByItemIdBetween(item2.getId(),
+                LocalDateTime.of(2023, 9, 11, 0, 0), LocalDateTime.of(2023, 10, 5, 0, 0));
+        assertEquals(2, activeBookings.size());
+        assertEquals(timeStartBooking1, activeBookings.get(0).getStartDate());
+        assertEquals(timeStartBookingBookerWaiting, activeBookings.get(1).getStartDate());
+        assertEquals(timeEndBookingBookerWaiting, activeBookings.get(1).getEndDate());
+
+        activeBookings = bookingRepository.findActiveBookingsByItemIdBetween(item2.getId(),
+                LocalDateTime.of(2023, 9, 15, 0, 0), LocalDateTime.of(2023, 9, 20, 12, 0));
+        assertTrue(activeBookings.isEmpty());
+    }
+
+    @Test
+    void testSaveIfItemFree() {
+        bookingRepository.flush();
+        assertTrue(bookingRepository.saveIfItemFree(new Booking(null, timeStartBookingBookerWaiting.plusHours(6),
+                timeEndBookingBookerWaiting.plusDays(1), item2, user1, BookingStatus.WAITING)).isEmpty());
+
+        Optional<Booking> adjacent = bookingRepository.saveIfItemFree(new Booking(null, timeEndBookingBookerWaiting,
+                timeEndBookingBookerWaiting.plusDays(1), item2, user1, BookingStatus.WAITING));
+        assertTrue(adjacent.isPresent());
+        assertNotNull(adjacent.get().getId());
+
+        assertTrue(bookingRepository.saveIfItemFree(new Booking(null, timeStartBookingBookerRej.plusHours(6),
+                timeEndBookingBookerRej, item2, user1, BookingStatus.WAITING)).isPresent());
+    }
+
+    @Test
+    void testUpdateStatusByOwner() {
+        Long bookingId = bookingOwnerWaiting.getId();
+
+        assertEquals(0, bookingRepository.updateStatusByOwner(bookingId, user2.getId(),
+                BookingStatus.APPROVED, BookingStatus.WAITING));
+        assertEquals(1, bookingRepository.updateStatusByOwner(bookingId, user1.getId(),
+                BookingStatus.APPROVED, BookingStatus.WAITING));
+        assertEquals(0, bookingRepository.updateStatusByOwner(bookingId, user1.getId(),
+                BookingStatus.REJECTED, BookingStatus.WAITING));
+
+        Booking booking = bookingRepository.findById(bookingId).get();
+        assertEquals(BookingStatus.APPROVED, booking.getStatus());
+        assertEquals(1, booking.getVersion());
+    }
+
+    @Test
+    void testUpdateStatusIfItemFree() {
+        List<BookingStatus> activeStatuses = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+        Long freeBookingId = bookingOwnerRejected.getId();
+        bookingRepository.save(new Booking(null, timeStartBookingBookerRej.plusHours(6),
+                timeEndBookingBookerRej.plusDays(1), item2, user2, BookingStatus.WAITING));
+        bookingRepository.flush();
+
+        assertEquals(0, bookingRepository.updateStatusIfItemFree(freeBookingId, 1,
+                BookingStatus.APPROVED, BookingStatus.REJECTED, activeStatuses));
+        assertEquals(0, bookingRepository.updateStatusIfItemFree(bookingBookerRejectedByUser1.getId(), 0,
+                BookingStatus.APPROVED, BookingStatus.REJECTED, activeStatuses));
+        assertEquals(1, bookingRepository.updateStatusIfItemFree(freeBookingId, 0,
+                BookingStatus.APPROVED, BookingStatus.REJECTED, activeStatuses));
+
+        Booking booking = bookingRepository.findById(freeBookingId).get();
+        assertEquals(BookingStatus.APPROVED, booking.getStatus());
+        assertEquals(1, booking.getVersion());
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(bookingBookerRejectedByUser1.getId()).get()
+                .getStatus());
+    }
+
     @Test
     void testFindBookerByItemId() {
         LocalDateTime currentTime = LocalDateTime.of(2023, 9, 11, 13, 0);
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,15 +13,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
 import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exeption.ValidationException;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDtoIn;
 import ru.practicum.shareit.item.dto.ItemByIdDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -34,23 +46,28 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.validation.ValidationUser;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @Slf4j
 @WebMvcTest(controllers = BookingService.class)
+@Import(SimpleMeterRegistry.class)
 @AutoConfigureMockMvc
 class BookingServiceTest {
 
     private BookingService bookingService;
+    private SimpleMeterRegistry meterRegistry;
 
     @MockBean
     private ItemService itemService;
@@ -114,7 +131,8 @@ class BookingServiceTest {
 
     @BeforeEach
     void beforeEach() {
-        bookingService = new BookingService(bookingRepository, userRepository, itemRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        bookingService = new BookingService(bookingRepository, userRepository, itemRepository, meterRegistry);
         user1 = new User(1L, "user1", "user1@user.com");
         user2 = new User(2L, "user2", "user2@user.com");
         user3 = new User(3L, "user3", "user3@user.com");
@@ -201,6 +219,8 @@ class BookingServiceTest {
 
         bookingRepository.save(bookingLast);
         bookingRepository.save(bookingNext);
+        when(bookingRepository.saveIfItemFree(any()))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
 
         comment1 = new Comment(1L, "Comment 1", item1, user2,
                 LocalDateTime.of(2023, 10, 20, 12, 0));
@@ -220,7 +240,7 @@ class BookingServiceTest {
     void testCreateBooking() {
         when(userRepository.findById(user2.getId()))
                 .thenReturn(Optional.ofNullable(user2));
-        when(itemRepository.findById(item1.getId()))
+        when(itemRepository.findWithOwnerAndRequestById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.findById(bookingNext.getId()))
                 .thenReturn(Optional.ofNullable(bookingNext));
@@ -228,7 +248,7 @@ class BookingServiceTest {
         bookingService.createBooking(user2.getId(), bookingDtoInNext);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .save(bookingNext);
+                .saveIfItemFree(bookingNext);
 
         ValidationException validationExceptionEndBeforeStart = Assertions.assertThrows(ValidationException.class,
                 () -> bookingService.createBooking(user2.getId(), bookingDtoInEndThenStart));
@@ -255,7 +275,7 @@ class BookingServiceTest {
         assertEquals("404 NOT_FOUND \"Не найден предмет с id 32\"",
                 validationExceptionNoItem.getMessage());
 
-        when(itemRepository.findById(itemNotAvailable.getId()))
+        when(itemRepository.findWithOwnerAndRequestById(itemNotAvailable.getId()))
                 .thenReturn(Optional.ofNullable(itemNotAvailable));
         ValidationException validationExceptionItemNotAvailable = Assertions.assertThrows(ValidationException.class,
                 () -> bookingService.createBooking(user2.getId(), bookingDtoInItemNotAvailable));
@@ -273,6 +293,97 @@ class BookingServiceTest {
         assertEquals(2, bookingNext.getId());
     }
 
+    @Test
+    void testCreateOverlappingBooking() {
+        when(userRepository.findById(user2.getId()))
+                .thenReturn(Optional.ofNullable(user2));
+        when(itemRepository.findWithOwnerAndRequestById(item1.getId()))
+                .thenReturn(Optional.ofNullable(item1));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Mockito.doReturn(Optional.empty()).when(bookingRepository)
+                .saveIfItemFree(Mockito.argThat(booking -> booking.getStart().equals(start.plusHours(12))));
+        Mockito.doThrow(constraintViolation("23P01", null)).when(bookingRepository)
+                .saveIfItemFree(Mockito.argThat(booking -> booking.getStart().equals(start.plusHours(18))));
+        Mockito.doThrow(constraintViolation("23503", "FK_BOOKING_TO_ITEMS")).when(bookingRepository)
+                .saveIfItemFree(Mockito.argThat(booking -> booking.getStart().equals(start.plusHours(20))));
+
+        bookingService.createBooking(user2.getId(), new BookingDtoIn(null, start, start.plusDays(1),
+                item1.getId(), null));
+
+        ValidationException validationExceptionOverlap = Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.createBooking(user2.getId(), new BookingDtoIn(null, start.plusHours(12),
+                        start.plusDays(2), item1.getId(), null)));
+        assertEquals("409 CONFLICT \"Предмет с id 1 уже забронирован на эти даты.\"",
+                validationExceptionOverlap.getMessage());
+        ValidationException validationExceptionConstraint = Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.createBooking(user2.getId(), new BookingDtoIn(null, start.plusHours(18),
+                        start.plusDays(2), item1.getId(), null)));
+        assertEquals(validationExceptionOverlap.getMessage(), validationExceptionConstraint.getMessage());
+        Assertions.assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.createBooking(user2.getId(), new BookingDtoIn(null, start.plusHours(20),
+                        start.plusDays(2), item1.getId(), null)));
+        assertEquals(2, meterRegistry.get("shareit.bookings.conflicts").tag("reason", "overlap").counter().count());
+    }
+
+    @Test
+    void testGetItemAvailability() {
+        when(userRepository.existsById(user2.getId()))
+                .thenReturn(true);
+        when(itemRepository.existsById(item1.getId()))
+                .thenReturn(true);
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = from.plusDays(10);
+        BookingDtoShort first = bookingShort(from.plusDays(1), from.plusDays(2));
+        BookingDtoShort second = bookingShort(from.plusDays(5), to.plusDays(1));
+        when(bookingRepository.findActiveBookingsByItemIdBetween(item1.getId(), from, to))
+                .thenReturn(List.of(first, second));
+
+        List<AvailabilitySlotDto> slots = bookingService.getItemAvailability(user2.getId(), item1.getId(), from, to);
+        assertEquals(List.of(new AvailabilitySlotDto(from, first.getStartDate(), true),
+                new AvailabilitySlotDto(first.getStartDate(), first.getEndDate(), false),
+                new AvailabilitySlotDto(first.getEndDate(), second.getStartDate(), true),
+                new AvailabilitySlotDto(second.getStartDate(), to, false)), slots);
+
+        when(bookingRepository.findActiveBookingsByItemIdBetween(item1.getId(), from, to))
+                .thenReturn(List.of(second));
+        assertEquals(List.of(new AvailabilitySlotDto(from, second.getStartDate(), true),
+                        new AvailabilitySlotDto(second.getStartDate(), to, false)),
+                bookingService.getItemAvailability(user2.getId(), item1.getId(), from, to));
+
+        ValidationException validationExceptionPeriod = Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.getItemAvailability(user2.getId(), item1.getId(), to, from));
+        assertEquals("400 BAD_REQUEST \"Конец периода раньше начала.\"",
+                validationExceptionPeriod.getMessage());
+
+        ValidationException validationExceptionLongPeriod = Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.getItemAvailability(user2.getId(), item1.getId(), from, from.plusDays(367)));
+        assertEquals("400 BAD_REQUEST \"Период не может быть длиннее 366 дней.\"",
+                validationExceptionLongPeriod.getMessage());
+
+        ValidationException validationExceptionNoItem = Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.getItemAvailability(user2.getId(), 32L, from, to));
+        assertEquals("404 NOT_FOUND \"Не найден предмет с id 32\"",
+                validationExceptionNoItem.getMessage());
+
+        ValidationException validationExceptionNoUser = Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.getItemAvailability(32L, item1.getId(), from, to));
+        assertEquals("404 NOT_FOUND \"Не найден пользователь с id 32\"",
+                validationExceptionNoUser.getMessage());
+    }
+
+    private BookingDtoShort bookingShort(LocalDateTime start, LocalDateTime end) {
+        BookingDtoShort booking = Mockito.mock(BookingDtoShort.class);
+        when(booking.getStartDate()).thenReturn(start);
+        when(booking.getEndDate()).thenReturn(end);
+        return booking;
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String sqlState, String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("constraint violation", sqlState), constraintName));
+    }
+
     @Test
     void testApproveBooking() {
         when(userRepository.findById(user1.getId()))
@@ -328,6 +439,82 @@ class BookingServiceTest {
                 validationExceptionBookingAlreadyRejected.getMessage());
     }
 
+    @Test
+    void testApproveWaitingBookingWithConditionalUpdate() {
+        when(bookingRepository.updateStatusByOwner(bookingNext3.getId(), user1.getId(),
+                BookingStatus.APPROVED, BookingStatus.WAITING))
+                .thenReturn(1);
+        when(bookingRepository.findById(bookingNext3.getId()))
+                .thenReturn(Optional.ofNullable(bookingNext3));
+
+        Booking approvedBooking = bookingService.approveBooking(user1.getId(), bookingNext3.getId(), true);
+
+        assertEquals(bookingNext3, approvedBooking);
+        Mockito.verify(bookingRepository, Mockito.never())
+                .save(bookingNext3);
+    }
+
+    @Test
+    void testApproveBookingRetriesOnOptimisticLockFailure() {
+        when(bookingRepository.findById(bookingRejected.getId()))
+                .thenReturn(Optional.of(rejectedBooking(BookingStatus.REJECTED, 0)))
+                .thenReturn(Optional.of(rejectedBooking(BookingStatus.REJECTED, 1)))
+                .thenReturn(Optional.of(rejectedBooking(BookingStatus.REJECTED, 1)))
+                .thenReturn(Optional.of(rejectedBooking(BookingStatus.APPROVED, 2)));
+        when(bookingRepository.updateStatusIfItemFree(eq(bookingRejected.getId()), anyLong(),
+                eq(BookingStatus.APPROVED), eq(BookingStatus.REJECTED), any()))
+                .thenReturn(0)
+                .thenReturn(1);
+
+        Booking approvedBooking = bookingService.approveBooking(user1.getId(), bookingRejected.getId(), true);
+
+        assertEquals(BookingStatus.APPROVED, approvedBooking.getStatus());
+        Mockito.verify(bookingRepository, Mockito.times(1)).updateStatusIfItemFree(bookingRejected.getId(), 0L,
+                BookingStatus.APPROVED, BookingStatus.REJECTED, List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+        Mockito.verify(bookingRepository, Mockito.times(1)).updateStatusIfItemFree(bookingRejected.getId(), 1L,
+                BookingStatus.APPROVED, BookingStatus.REJECTED, List.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+        Mockito.verify(bookingRepository, Mockito.never()).saveIfItemFree(any());
+
+        when(bookingRepository.findById(bookingRejected.getId()))
+                .thenReturn(Optional.of(rejectedBooking(BookingStatus.REJECTED, 3)))
+                .thenReturn(Optional.of(rejectedBooking(BookingStatus.REJECTED, 4)))
+                .thenReturn(Optional.of(rejectedBooking(BookingStatus.REJECTED, 4)))
+                .thenReturn(Optional.of(rejectedBooking(BookingStatus.REJECTED, 5)))
+                .thenReturn(Optional.of(rejectedBooking(BookingStatus.REJECTED, 5)))
+                .thenReturn(Optional.of(rejectedBooking(BookingStatus.REJECTED, 6)));
+        when(bookingRepository.updateStatusIfItemFree(eq(bookingRejected.getId()), anyLong(),
+                eq(BookingStatus.APPROVED), eq(BookingStatus.REJECTED), any()))
+                .thenReturn(0);
+        ValidationException validationExceptionConflict = Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.approveBooking(user1.getId(), bookingRejected.getId(), true));
+        assertEquals("409 CONFLICT \"Бронирование с id 3 изменено другим запросом, повторите попытку.\"",
+                validationExceptionConflict.getMessage());
+    }
+
+    @Test
+    void testApproveRejectedBookingOverlappingAnother() {
+        when(bookingRepository.findById(bookingRejected.getId()))
+                .thenReturn(Optional.of(rejectedBooking(BookingStatus.REJECTED, 0)));
+        when(bookingRepository.updateStatusIfItemFree(eq(bookingRejected.getId()), eq(0L),
+                eq(BookingStatus.APPROVED), eq(BookingStatus.REJECTED), any()))
+                .thenReturn(0)
+                .thenThrow(constraintViolation("23P01", null));
+
+        ValidationException validationExceptionOverlap = Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.approveBooking(user1.getId(), bookingRejected.getId(), true));
+        assertEquals("409 CONFLICT \"Предмет с id 1 уже забронирован на эти даты.\"",
+                validationExceptionOverlap.getMessage());
+        ValidationException validationExceptionConstraint = Assertions.assertThrows(ValidationException.class,
+                () -> bookingService.approveBooking(user1.getId(), bookingRejected.getId(), true));
+        assertEquals(validationExceptionOverlap.getMessage(), validationExceptionConstraint.getMessage());
+        Mockito.verify(bookingRepository, Mockito.never()).saveIfItemFree(any());
+    }
+
+    private Booking rejectedBooking(BookingStatus status, long version) {
+        return new Booking(bookingRejected.getId(), bookingRejected.getStart(), bookingRejected.getEnd(),
+                item1, user2, status, version);
+    }
+
     @Test
     void testGetBookingById() {
         when(userRepository.findById(user2.getId()))
@@ -358,83 +545,87 @@ class BookingServiceTest {
     @Test
     void testGetBookingsByUser() {
         //ALL
-        when(userRepository.findById(user2.getId()))
-                .thenReturn(Optional.ofNullable(user2));
+        when(userRepository.existsById(user2.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getAllBookingsByUser(anyLong(), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingLast)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingLast))));
 
-        Collection<Booking> bookings = bookingService.getBookingsByUser(user2.getId(), State.ALL, pageRequest);
+        Collection<BookingDtoOut> bookings = bookingService.getBookingsByUser(user2.getId(), State.ALL, pageRequest);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
+        assertEquals(1, meterRegistry.get("shareit.bookings.list")
+                .tags("role", "booker", "state", "ALL", "pagination", "offset").timer().count());
 
         //CURRENT
-        when(userRepository.findById(user2.getId()))
-                .thenReturn(Optional.ofNullable(user2));
+        when(userRepository.existsById(user2.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getCurrentBookingsByUser(anyLong(), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingCurrent)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingCurrent))));
 
-        Collection<Booking> bookingsCurrent = bookingService.getBookingsByUser(user2.getId(), State.CURRENT, pageRequest);
+        Collection<BookingDtoOut> bookingsCurrent = bookingService.getBookingsByUser(user2.getId(), State.CURRENT, pageRequest);
 
         assertNotNull(bookingsCurrent);
         assertEquals(1, bookingsCurrent.size());
 
         //PAST
-        when(userRepository.findById(user2.getId()))
-                .thenReturn(Optional.ofNullable(user2));
+        when(userRepository.existsById(user2.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getPastBookingsByUser(anyLong(), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingLast)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingLast))));
 
-        Collection<Booking> bookingsPast = bookingService.getBookingsByUser(user2.getId(), State.PAST, pageRequest);
+        Collection<BookingDtoOut> bookingsPast = bookingService.getBookingsByUser(user2.getId(), State.PAST, pageRequest);
 
         assertNotNull(bookingsPast);
         assertEquals(1, bookingsPast.size());
 
         //FUTURE
-        when(userRepository.findById(user2.getId()))
-                .thenReturn(Optional.ofNullable(user2));
+        when(userRepository.existsById(user2.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getFutureBookingsByUser(anyLong(), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingNext)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingNext))));
 
-        Collection<Booking> bookingsFuture = bookingService.getBookingsByUser(user2.getId(), State.FUTURE, pageRequest);
+        Collection<BookingDtoOut> bookingsFuture = bookingService.getBookingsByUser(user2.getId(), State.FUTURE, pageRequest);
 
         assertNotNull(bookingsFuture);
         assertEquals(1, bookingsFuture.size());
 
         //WAITING
-        when(userRepository.findById(user2.getId()))
-                .thenReturn(Optional.ofNullable(user2));
+        when(userRepository.existsById(user2.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getWaitingRejectedBookingsByBooker(anyLong(), any(BookingStatus.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingNext)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingNext))));
 
-        Collection<Booking> bookingsWaiting = bookingService.getBookingsByUser(user2.getId(), State.WAITING, pageRequest);
+        Collection<BookingDtoOut> bookingsWaiting = bookingService.getBookingsByUser(user2.getId(), State.WAITING, pageRequest);
 
         assertNotNull(bookingsWaiting);
         assertEquals(1, bookingsWaiting.size());
 
         //REJECTED
-        when(userRepository.findById(user2.getId()))
-                .thenReturn(Optional.ofNullable(user2));
+        when(userRepository.existsById(user2.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getWaitingRejectedBookingsByBooker(anyLong(), any(BookingStatus.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingRejected)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingRejected))));
 
-        Collection<Booking> bookingsRejected = bookingService.getBookingsByUser(user2.getId(), State.REJECTED, pageRequest);
+        Collection<BookingDtoOut> bookingsRejected = bookingService.getBookingsByUser(user2.getId(), State.REJECTED, pageRequest);
 
         assertNotNull(bookingsRejected);
         assertEquals(1, bookingsRejected.size());
 
+        when(bookingRepository.getWaitingRejectedBookingsByBooker(eq(24L), any(BookingStatus.class), any(PageRequest.class)))
+                .thenReturn(Page.empty());
         ValidationException validationExceptionNoUser = Assertions.assertThrows(ValidationException.class,
                 () -> bookingService.getBookingsByUser(24L, State.REJECTED, pageRequest));
         assertEquals("404 NOT_FOUND \"Не найден пользователь с id 24\"",
@@ -444,86 +635,134 @@ class BookingServiceTest {
     @Test
     void testGetBookingsByOwner() {
         //ALL
-        when(userRepository.findById(user1.getId()))
-                .thenReturn(Optional.ofNullable(user1));
+        when(userRepository.existsById(user1.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getAllBookingsByOwner(anyLong(), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingLast)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingLast))));
 
-        Collection<Booking> bookings = bookingService.getBookingsByOwner(user1.getId(), State.ALL, pageRequest);
+        Collection<BookingDtoOut> bookings = bookingService.getBookingsByOwner(user1.getId(), State.ALL, pageRequest);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
 
         //CURRENT
-        when(userRepository.findById(user1.getId()))
-                .thenReturn(Optional.ofNullable(user1));
+        when(userRepository.existsById(user1.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getCurrentBookingsByOwner(anyLong(), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingCurrent)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingCurrent))));
 
-        Collection<Booking> bookingsCurrent = bookingService.getBookingsByOwner(user1.getId(), State.CURRENT, pageRequest);
+        Collection<BookingDtoOut> bookingsCurrent = bookingService.getBookingsByOwner(user1.getId(), State.CURRENT, pageRequest);
 
         assertNotNull(bookingsCurrent);
         assertEquals(1, bookingsCurrent.size());
 
         //PAST
-        when(userRepository.findById(user1.getId()))
-                .thenReturn(Optional.ofNullable(user1));
+        when(userRepository.existsById(user1.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getPastBookingsByOwner(anyLong(), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingLast)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingLast))));
 
-        Collection<Booking> bookingsPast = bookingService.getBookingsByOwner(user1.getId(), State.PAST, pageRequest);
+        Collection<BookingDtoOut> bookingsPast = bookingService.getBookingsByOwner(user1.getId(), State.PAST, pageRequest);
 
         assertNotNull(bookingsPast);
         assertEquals(1, bookingsPast.size());
 
         //FUTURE
-        when(userRepository.findById(user1.getId()))
-                .thenReturn(Optional.ofNullable(user1));
+        when(userRepository.existsById(user1.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getFutureBookingsByOwner(anyLong(), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingNext)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingNext))));
 
-        Collection<Booking> bookingsFuture = bookingService.getBookingsByOwner(user1.getId(), State.FUTURE, pageRequest);
+        Collection<BookingDtoOut> bookingsFuture = bookingService.getBookingsByOwner(user1.getId(), State.FUTURE, pageRequest);
 
         assertNotNull(bookingsFuture);
         assertEquals(1, bookingsFuture.size());
 
         //WAITING
-        when(userRepository.findById(user1.getId()))
-                .thenReturn(Optional.ofNullable(user1));
+        when(userRepository.existsById(user1.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getWaitingRejectedBookingsByOwner(anyLong(), any(BookingStatus.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingNext)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingNext))));
 
-        Collection<Booking> bookingsWaiting = bookingService.getBookingsByOwner(user1.getId(), State.WAITING, pageRequest);
+        Collection<BookingDtoOut> bookingsWaiting = bookingService.getBookingsByOwner(user1.getId(), State.WAITING, pageRequest);
 
         assertNotNull(bookingsWaiting);
         assertEquals(1, bookingsWaiting.size());
 
         //REJECTED
-        when(userRepository.findById(user1.getId()))
-                .thenReturn(Optional.ofNullable(user1));
+        when(userRepository.existsById(user1.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(bookingRepository.getWaitingRejectedBookingsByOwner(anyLong(), any(BookingStatus.class), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(bookingRejected)));
+                .thenReturn(new PageImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingRejected))));
 
-        Collection<Booking> bookingsRejected = bookingService.getBookingsByOwner(user1.getId(), State.REJECTED, pageRequest);
+        Collection<BookingDtoOut> bookingsRejected = bookingService.getBookingsByOwner(user1.getId(), State.REJECTED, pageRequest);
 
         assertNotNull(bookingsRejected);
         assertEquals(1, bookingsRejected.size());
 
+        when(bookingRepository.getWaitingRejectedBookingsByOwner(eq(24L), any(BookingStatus.class), any(PageRequest.class)))
+                .thenReturn(Page.empty());
         ValidationException validationExceptionNoUser = Assertions.assertThrows(ValidationException.class,
                 () -> bookingService.getBookingsByOwner(24L, State.REJECTED, pageRequest));
         assertEquals("404 NOT_FOUND \"Не найден пользователь с id 24\"",
                 validationExceptionNoUser.getMessage());
     }
+
+    @Test
+    void testGetBookingsByUserAfterCursor() {
+        when(userRepository.existsById(user2.getId()))
+                .thenReturn(true);
+        SliceImpl<BookingDtoOut> slice = new SliceImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingLast)));
+        when(bookingRepository.getAllBookingsByUserAfter(anyLong(), any(LocalDateTime.class), anyLong(),
+                any(PageRequest.class))).thenReturn(slice);
+        when(bookingRepository.getCurrentBookingsByUserAfter(anyLong(), any(LocalDateTime.class), anyLong(),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(slice);
+        when(bookingRepository.getPastBookingsByUserAfter(anyLong(), any(LocalDateTime.class), anyLong(),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(slice);
+        when(bookingRepository.getFutureBookingsByUserAfter(anyLong(), any(LocalDateTime.class), anyLong(),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(slice);
+        when(bookingRepository.getWaitingRejectedBookingsByBookerAfter(anyLong(), any(LocalDateTime.class), anyLong(),
+                any(BookingStatus.class), any(PageRequest.class))).thenReturn(slice);
+
+        for (State state : State.values()) {
+            Slice<BookingDtoOut> bookings = bookingService.getBookingsByUser(user2.getId(), state, BookingCursor.FIRST, size);
+            assertEquals(1, bookings.getContent().size());
+        }
+        Mockito.verify(bookingRepository, Mockito.never()).getAllBookingsByUser(anyLong(), any(PageRequest.class));
+    }
+
+    @Test
+    void testGetBookingsByOwnerAfterCursor() {
+        when(userRepository.existsById(user1.getId()))
+                .thenReturn(true);
+        SliceImpl<BookingDtoOut> slice = new SliceImpl<>(Collections.singletonList(BookingMapper.toBookingDtoOut(bookingLast)));
+        when(bookingRepository.getAllBookingsByOwnerAfter(anyLong(), any(LocalDateTime.class), anyLong(),
+                any(PageRequest.class))).thenReturn(slice);
+        when(bookingRepository.getCurrentBookingsByOwnerAfter(anyLong(), any(LocalDateTime.class), anyLong(),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(slice);
+        when(bookingRepository.getPastBookingsByOwnerAfter(anyLong(), any(LocalDateTime.class), anyLong(),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(slice);
+        when(bookingRepository.getFutureBookingsByOwnerAfter(anyLong(), any(LocalDateTime.class), anyLong(),
+                any(LocalDateTime.class), any(PageRequest.class))).thenReturn(slice);
+        when(bookingRepository.getWaitingRejectedBookingsByOwnerAfter(anyLong(), any(LocalDateTime.class), anyLong(),
+                any(BookingStatus.class), any(PageRequest.class))).thenReturn(slice);
+
+        for (State state : State.values()) {
+            Slice<BookingDtoOut> bookings = bookingService.getBookingsByOwner(user1.getId(), state, BookingCursor.FIRST, size);
+            assertEquals(1, bookings.getContent().size());
+        }
+        Mockito.verify(bookingRepository, Mockito.never()).getAllBookingsByOwner(anyLong(), any(PageRequest.class));
+    }
 }
\ No newline at end of file
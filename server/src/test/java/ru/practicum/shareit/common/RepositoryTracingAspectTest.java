@@ -0,0 +1,94 @@
+package ru.practicum.shareit.common;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RepositoryTracingAspectTest {
+    private static final String TRACE_ID = "463ac35c9f6413ad";
+    private static final String PARENT_SPAN_ID = "a2fb4a1d1a96d312";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private List<MutableSpan> finishedSpans;
+
+    private User user;
+
+    @TestConfiguration
+    static class SpanCaptureConfig {
+
+        @Bean
+        public List<MutableSpan> finishedSpans() {
+            return new CopyOnWriteArrayList<>();
+        }
+
+        @Bean
+        public SpanHandler capturingSpanHandler(List<MutableSpan> finishedSpans) {
+            return new SpanHandler() {
+                @Override
+                public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                    finishedSpans.add(span);
+                    return true;
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        user = userRepository.save(new User(null, "user", "user@user.com"));
+        finishedSpans.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testRepositorySpanJoinsPropagatedTrace() throws Exception {
+        mockMvc.perform(get("/users/{userId}", user.getId())
+                        .header("b3", TRACE_ID + "-" + PARENT_SPAN_ID + "-1"))
+                .andExpect(status().isOk());
+
+        MutableSpan repositorySpan = finishedSpans.stream()
+                .filter(span -> "UserRepository.findById".equals(span.name()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(TRACE_ID, repositorySpan.traceId());
+        assertEquals("UserRepository", repositorySpan.tag("db.repository"));
+        assertTrue(finishedSpans.stream()
+                .anyMatch(span -> repositorySpan.parentId().equals(span.id()) && TRACE_ID.equals(span.traceId())));
+    }
+
+    @Test
+    void testRepositoryCallOutsideTraceIsNotTraced() {
+        userRepository.findById(user.getId());
+
+        assertTrue(finishedSpans.isEmpty());
+    }
+}
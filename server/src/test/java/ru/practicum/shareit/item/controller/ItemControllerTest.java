@@ -13,6 +13,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDtoIn;
 import ru.practicum.shareit.item.dto.CommentDtoOut;
 import ru.practicum.shareit.item.dto.ItemByIdDto;
@@ -45,6 +47,9 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private BookingService bookingService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -97,6 +102,27 @@ class ItemControllerTest {
                         .createItem(anyLong(), any(ItemDto.class));
     }
 
+    @Test
+    void testGetItemAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime busyStart = LocalDateTime.of(2030, 1, 2, 12, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 5, 0, 0);
+        when(bookingService.getItemAvailability(user.getId(), item1.getId(), from, to))
+                .thenReturn(List.of(new AvailabilitySlotDto(from, busyStart, true),
+                        new AvailabilitySlotDto(busyStart, to, false)));
+
+        mockMvc.perform(get("/items/{itemId}/availability", item1.getId())
+                        .header("X-Sharer-User-Id", user.getId())
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].available", is(true)))
+                .andExpect(jsonPath("$[1].start", is(busyStart.toString() + ":00")))
+                .andExpect(jsonPath("$[1].available", is(false)));
+    }
+
     @Test
     void testCreateComment() throws Exception {
         when(itemService.createComment(any(), any(), any(CommentDtoIn.class)))
@@ -5,9 +5,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.common.SecondLevelCacheConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.requests.model.ItemRequest;
 import ru.practicum.shareit.requests.repository.ItemRequestRepository;
@@ -16,11 +18,13 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @DataJpaTest
+@Import(SecondLevelCacheConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class ItemRepositoryTest {
 
@@ -75,6 +79,46 @@ class ItemRepositoryTest {
         assertEquals(1, allItemsByRequest.size());
         assertEquals("item 2", allItemsByRequest.stream().findFirst().get().getName());
     }
+
+    @Test
+    void testGetAllItemsByRequests() {
+        Collection<Item> allItemsByRequests = itemRepository.getAllItemsByRequests(List.of(itemRequest.getId()));
+        assertEquals(1, allItemsByRequests.size());
+        assertEquals(itemRequest.getId(), allItemsByRequests.stream().findFirst().get().getItemRequest().getId());
+    }
+
+    @Test
+    void testSearchAvailableItems() {
+        itemRepository.save(new Item(3L, "Unavailable", "item 3 desciption", false, user1, null));
+        itemRepository.save(new Item(4L, "Drill", "useful for item 4", true, user2, null));
+        final PageRequest pageRequest = PageRequest.of(0, 20);
+
+        Page<Item> items = itemRepository.searchAvailableItems("ITEM", pageRequest);
+        assertEquals(3, items.getTotalElements());
+        assertEquals("Drill", items.getContent().get(2).getName());
+
+        Page<Item> firstPage = itemRepository.searchAvailableItems("item", PageRequest.of(0, 1));
+        assertEquals(1, firstPage.getContent().size());
+        assertEquals(3, firstPage.getTotalElements());
+
+        assertEquals(0, itemRepository.searchAvailableItems("unavailable", pageRequest).getTotalElements());
+    }
+
+    @Test
+    void testSearchAvailableItemsTreatsEscapedWildcardsLiterally() {
+        itemRepository.save(new Item(3L, "Sale 50%", "power_drill", true, user1, null));
+        final PageRequest pageRequest = PageRequest.of(0, 20);
+
+        Page<Item> percent = itemRepository.searchAvailableItems("50\\%", pageRequest);
+        assertEquals(1, percent.getTotalElements());
+        assertEquals("Sale 50%", percent.getContent().get(0).getName());
+
+        Page<Item> underscore = itemRepository.searchAvailableItems("\\_", pageRequest);
+        assertEquals(1, underscore.getTotalElements());
+        assertEquals("Sale 50%", underscore.getContent().get(0).getName());
+
+        assertEquals(0, itemRepository.searchAvailableItems("item\\_", pageRequest).getTotalElements());
+    }
 }
 
 
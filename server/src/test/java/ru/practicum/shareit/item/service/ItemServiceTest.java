@@ -14,6 +14,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingDtoShort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -38,8 +39,11 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 @Slf4j
@@ -184,7 +188,9 @@ class ItemServiceTest {
         itemService.createItem(user1.getId(), itemDto);
 
         Mockito.verify(itemRepository, Mockito.times(1))
-                .save(item1);
+                .save(Mockito.argThat(item -> item.getId() == null && item.getName().equals(item1.getName())
+                        && item.getDescription().equals(item1.getDescription()) && item.getAvailable()
+                        && item.getOwner().equals(user1) && item.getItemRequest() == null));
         assertNotNull(item1);
         assertEquals(1, item1.getId());
     }
@@ -213,13 +219,17 @@ class ItemServiceTest {
                 .thenReturn(new PageImpl<>(Collections.singletonList(bookingNext)));
         when(itemRepository.getAllItemsByUser(anyLong(), any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(Collections.singletonList(item1)));
-        when(itemRepository.findAll(any(PageRequest.class)))
+        when(itemRepository.searchAvailableItems(anyString(), any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(Collections.singletonList(item1)));
 
         Collection<Item> items = itemService.searchItems("item 1", pageRequest);
 
         assertNotNull(items);
         assertEquals(1, items.size());
+        assertEquals(0, itemService.searchItems("", pageRequest).size());
+
+        itemService.searchItems("50%_\\", pageRequest);
+        Mockito.verify(itemRepository).searchAvailableItems("50\\%\\_\\\\", pageRequest);
     }
 
     @Test
@@ -251,11 +261,26 @@ class ItemServiceTest {
                 .thenReturn(new PageImpl<>(Collections.singletonList(bookingNext)));
         when(itemRepository.getAllItemsByUser(anyLong(), any(PageRequest.class)))
                 .thenReturn(new PageImpl<>(Collections.singletonList(item1)));
+        BookingDtoShort lastBookingShort = Mockito.mock(BookingDtoShort.class);
+        when(lastBookingShort.getId()).thenReturn(bookingLast.getId());
+        when(lastBookingShort.getItemId()).thenReturn(item1.getId());
+        when(lastBookingShort.getBookerId()).thenReturn(user2.getId());
+        when(lastBookingShort.getStatus()).thenReturn(BookingStatus.WAITING.name());
+        when(bookingRepository.findLastBookingsByItemIds(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(lastBookingShort));
+        when(commentRepository.getAllCommentsByItems(anyCollection()))
+                .thenReturn(Collections.singletonList(comment1));
 
         Collection<ItemByIdDto> itemByIdDtoList = itemService.getAllItemsByUser(user1.getId(), pageRequest);
 
         assertNotNull(itemByIdDtoList);
         assertEquals(1, itemByIdDtoList.size());
+        ItemByIdDto itemByIdDtoFromList = itemByIdDtoList.stream().findFirst().get();
+        assertEquals(bookingLast.getId(), itemByIdDtoFromList.getLastBooking().getId());
+        assertEquals(user2.getId(), itemByIdDtoFromList.getLastBooking().getBookerId());
+        assertNull(itemByIdDtoFromList.getNextBooking());
+        assertEquals(1, itemByIdDtoFromList.getComments().size());
+        Mockito.verify(itemRepository, Mockito.never()).findById(anyLong());
     }
 
     @Test
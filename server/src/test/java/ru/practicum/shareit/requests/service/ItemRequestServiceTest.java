@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -37,6 +38,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 
@@ -134,8 +136,8 @@ class ItemRequestServiceTest {
 
     @Test
     void testGetItemRequestById() {
-        when(userRepository.findById(user1.getId()))
-                .thenReturn(Optional.ofNullable(user1));
+        when(userRepository.existsById(user1.getId()))
+                .thenReturn(true);
         when(itemRepository.getAllItemsByRequest(itemRequest.getId()))
                 .thenReturn(List.of(item1));
         when(itemRequestRepository.findById(itemRequest.getId()))
@@ -149,8 +151,8 @@ class ItemRequestServiceTest {
 
     @Test
     void testGetAllItemRequestsByRequester() {
-        when(userRepository.findById(user1.getId()))
-                .thenReturn(Optional.ofNullable(user1));
+        when(userRepository.existsById(user1.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(itemRequestRepository.findById(itemRequest.getId()))
@@ -158,16 +160,23 @@ class ItemRequestServiceTest {
         when(itemRequestRepository.getAllItemRequestsByRequester(user1.getId()))
                 .thenReturn(Collections.singletonList(itemRequest));
 
+        Item itemForRequest = new Item(2L, "item 2", "item 2 desciption", true, user1, itemRequest);
+        when(itemRepository.getAllItemsByRequests(anyCollection()))
+                .thenReturn(List.of(itemForRequest));
+
         Collection<ItemRequestByIdDto> itemByIdDtoList = itemRequestService.getAllItemRequestsByRequester(user1.getId());
 
         assertNotNull(itemByIdDtoList);
         assertEquals(1, itemByIdDtoList.size());
+        assertEquals(1, itemByIdDtoList.stream().findFirst().get().getItems().size());
+        Mockito.verify(itemRequestRepository, Mockito.never()).findById(anyLong());
+        Mockito.verify(itemRepository, Mockito.never()).getAllItemsByRequest(anyLong());
     }
 
     @Test
     void testGetAllItemRequestsByPage() {
-        when(userRepository.findById(user1.getId()))
-                .thenReturn(Optional.ofNullable(user1));
+        when(userRepository.existsById(user1.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item1.getId()))
                 .thenReturn(Optional.ofNullable(item1));
         when(itemRequestRepository.findById(itemRequest.getId()))
@@ -180,5 +189,7 @@ class ItemRequestServiceTest {
 
         assertNotNull(itemByIdDtoList);
         assertEquals(1, itemByIdDtoList.size());
+        assertEquals(0, itemByIdDtoList.stream().findFirst().get().getItems().size());
+        Mockito.verify(itemRepository, Mockito.times(1)).getAllItemsByRequests(anyCollection());
     }
 }
\ No newline at end of file
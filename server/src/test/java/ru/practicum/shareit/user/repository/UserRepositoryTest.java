@@ -0,0 +1,53 @@
+package ru.practicum.shareit.user.repository;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.common.SecondLevelCacheConfig;
+import ru.practicum.shareit.user.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user1;
+
+    @BeforeEach
+    void beforeEach() {
+        user1 = userRepository.save(new User(1L, "User 1 name", "user1@email.ru"));
+    }
+
+    @AfterEach
+    void afterEach() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testExistsById() {
+        assertTrue(userRepository.existsById(user1.getId()));
+        assertFalse(userRepository.existsById(user1.getId() + 100));
+    }
+
+    @Test
+    void testEmailIsUniqueIgnoringCase() {
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(new User(null, "User 2 name", "USER1@email.ru")));
+
+        assertEquals("UQ_USER_EMAIL_UPPER", ((ConstraintViolationException) e.getCause()).getConstraintName());
+    }
+}
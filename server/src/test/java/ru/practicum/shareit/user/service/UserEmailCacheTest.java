@@ -0,0 +1,67 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UserEmailCacheTest {
+
+    @Test
+    void testGetUserIdIgnoresCase() {
+        UserEmailCache cache = new UserEmailCache(10);
+        cache.put("user1@user.com", 1L);
+
+        assertEquals(1L, cache.getUserId("USER1@user.com"));
+        assertNull(cache.getUserId("user2@user.com"));
+    }
+
+    @Test
+    void testPutReplacesPreviousEmailOfUser() {
+        UserEmailCache cache = new UserEmailCache(10);
+        cache.put("old@user.com", 1L);
+        cache.put("new@user.com", 1L);
+
+        assertNull(cache.getUserId("old@user.com"));
+        assertEquals(1L, cache.getUserId("new@user.com"));
+    }
+
+    @Test
+    void testPutMovesEmailToNewOwner() {
+        UserEmailCache cache = new UserEmailCache(10);
+        cache.put("user@user.com", 1L);
+        cache.put("user@user.com", 2L);
+        cache.evict(1L);
+
+        assertEquals(2L, cache.getUserId("user@user.com"));
+    }
+
+    @Test
+    void testEvict() {
+        UserEmailCache cache = new UserEmailCache(10);
+        cache.put("user1@user.com", 1L);
+        cache.put("user2@user.com", 2L);
+        cache.evict(1L);
+
+        assertNull(cache.getUserId("user1@user.com"));
+        assertEquals(2L, cache.getUserId("user2@user.com"));
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedEntry() {
+        UserEmailCache cache = new UserEmailCache(2);
+        cache.put("user1@user.com", 1L);
+        cache.put("user2@user.com", 2L);
+        cache.getUserId("user1@user.com");
+        cache.put("user3@user.com", 3L);
+
+        assertEquals(1L, cache.getUserId("user1@user.com"));
+        assertNull(cache.getUserId("user2@user.com"));
+        assertEquals(3L, cache.getUserId("user3@user.com"));
+
+        cache.put("user2@user.com", 2L);
+        cache.put("user4@user.com", 4L);
+        assertNull(cache.getUserId("user1@user.com"));
+        assertNull(cache.getUserId("user3@user.com"));
+    }
+}
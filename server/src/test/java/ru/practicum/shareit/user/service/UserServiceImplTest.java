@@ -2,7 +2,9 @@ package ru.practicum.shareit.user.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -10,18 +12,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exeption.ValidationException;
 import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.validation.ValidationUser;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.when;
 
 @Slf4j
@@ -65,17 +73,74 @@ class UserServiceImplTest {
 
     @Test
     void testCreateUser() {
-        when(userService.createUser(userDto))
+        when(userRepository.save(any(User.class)))
                 .thenReturn(user1);
 
-        assertNotNull(user1);
-        assertEquals(1, user1.getId());
+        User user = userService.createUser(userDto);
+
+        assertNotNull(user);
+        assertEquals(1, user.getId());
+    }
+
+    @Test
+    void testCreateUserWithDuplicateEmail() {
+        when(userRepository.save(any(User.class)))
+                .thenReturn(user1);
+        when(userRepository.save(argThat(user -> "USER2@user.com".equals(user.getEmail()))))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement",
+                                new SQLException("duplicate key value violates unique constraint", "23505"),
+                                "uq_user_email_upper")));
+        when(userRepository.existsByEmailIgnoreCase("User1@user.com"))
+                .thenReturn(true);
+
+        ValidationException duplicateInDb = Assertions.assertThrows(ValidationException.class,
+                () -> userService.createUser(new UserDto(null, "user", "USER2@user.com")));
+        assertEquals(HttpStatus.CONFLICT, duplicateInDb.getStatus());
+
+        userService.createUser(userDto);
+        ValidationException duplicateInCache = Assertions.assertThrows(ValidationException.class,
+                () -> userService.createUser(new UserDto(null, "user", "User1@user.com")));
+        assertEquals(HttpStatus.CONFLICT, duplicateInCache.getStatus());
+        Mockito.verify(userRepository, Mockito.never()).existsByEmailIgnoreCase("user@user.com");
+        Mockito.verify(userRepository, Mockito.never()).findAll();
+    }
+
+    @Test
+    void testCreateUserWithOtherConstraintViolation() {
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement",
+                                new SQLException("value too long for type character varying(512)", "22001"),
+                                null)));
+
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(userDto));
+    }
+
+    @Test
+    void testCreateUserWithStaleCachedEmail() {
+        when(userRepository.save(any(User.class)))
+                .thenReturn(user1);
+        userService.createUser(userDto);
+        when(userRepository.existsByEmailIgnoreCase("USER1@user.com"))
+                .thenReturn(false);
+        when(userRepository.save(any(User.class)))
+                .thenReturn(user2);
+
+        User user = userService.createUser(new UserDto(null, "user", "USER1@user.com"));
+
+        assertEquals(2, user.getId());
+        Mockito.verify(userRepository, Mockito.times(1)).existsByEmailIgnoreCase("USER1@user.com");
     }
 
     @Test
     void testUpdateUser() {
+        when(userRepository.existsById(user2.getId()))
+                .thenReturn(true);
         when(userRepository.findById(user2.getId()))
                 .thenReturn(Optional.ofNullable(user2));
+        when(userRepository.save(any(User.class)))
+                .thenReturn(user2);
         userService.updateUser(user2.getId(), userDto2);
         Mockito.verify(userRepository, Mockito.times(1))
                 .save(user2);
@@ -105,6 +170,8 @@ class UserServiceImplTest {
 
     @Test
     void testDeleteUser() {
+        when(userRepository.existsById(user2.getId()))
+                .thenReturn(true);
         when(userRepository.findById(user2.getId()))
                 .thenReturn(Optional.ofNullable(user2));
         userService.deleteUser(2L);